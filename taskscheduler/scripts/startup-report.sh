@@ -0,0 +1,68 @@
+#!/usr/bin/env bash
+# Builds the regular jar and the fast-start (Spring AOT + CDS/AOT cache + lazy init) jar,
+# then reports time-to-first-request and resident memory for each. A GraalVM native
+# executable is measured too if target/taskscheduler exists (mvn -Pnative native:compile).
+#
+# Usage: scripts/startup-report.sh [runs]   (Linux only: RSS is read from /proc)
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+RUNS=${1:-3}
+PORT=${PORT:-18080}
+WORK=target/startup-report
+MVN=${MVN:-mvn}
+JAR_NAME=taskscheduler-0.0.1-SNAPSHOT.jar
+JAVA_MAJOR=$(java -XshowSettings:properties -version 2>&1 | awk -F'= ' '/java.specification.version/{print $2}')
+
+rm -rf "$WORK" && mkdir -p "$WORK"
+
+echo "Building regular jar..."
+"$MVN" -q -B package -Dmaven.test.skip=true
+java -Djarmode=tools -jar "target/$JAR_NAME" extract --destination "$WORK/plain" >/dev/null
+
+echo "Building fast-start jar..."
+"$MVN" -q -B package -Dmaven.test.skip=true -Pfast-start
+java -Djarmode=tools -jar "target/$JAR_NAME" extract --destination "$WORK/fast" >/dev/null
+
+FAST_OPTS=(-Dspring.aot.enabled=true -Dspring.profiles.active=faststart)
+
+# Training run: start the context, exit once refreshed, and dump the loaded classes.
+# JDK 25+ records a full AOT cache (JEP 483/514); older JDKs fall back to a dynamic CDS archive.
+if [ "$JAVA_MAJOR" -ge 25 ]; then
+    CACHE_OPTS=(-XX:AOTCache="$WORK/app.aot")
+    java -XX:AOTCacheOutput="$WORK/app.aot" "${FAST_OPTS[@]}" -Dspring.context.exit=onRefresh \
+        -jar "$WORK/fast/$JAR_NAME" >/dev/null
+else
+    CACHE_OPTS=(-XX:SharedArchiveFile="$WORK/app.jsa")
+    java -XX:ArchiveClassesAtExit="$WORK/app.jsa" "${FAST_OPTS[@]}" -Dspring.context.exit=onRefresh \
+        -jar "$WORK/fast/$JAR_NAME" >/dev/null
+fi
+
+measure() {
+    local label=$1
+    shift
+    for run in $(seq "$RUNS"); do
+        local start end pid rss
+        start=$(date +%s%N)
+        "$@" --server.port="$PORT" >/dev/null 2>&1 &
+        pid=$!
+        until curl -sf -o /dev/null "http://localhost:$PORT/tasks"; do
+            if ! kill -0 "$pid" 2>/dev/null; then
+                echo "$label exited before serving a request" >&2
+                return 1
+            fi
+            sleep 0.01
+        done
+        end=$(date +%s%N)
+        rss=$(awk '/VmRSS/{print $2}' "/proc/$pid/status")
+        kill "$pid" && wait "$pid" 2>/dev/null || true
+        printf '%-24s run %d: first request after %5d ms, RSS %7d KB\n' \
+            "$label" "$run" $(((end - start) / 1000000)) "$rss"
+    done
+}
+
+measure "jar" java -jar "$WORK/plain/$JAR_NAME"
+measure "fast-start (AOT+cache)" java "${CACHE_OPTS[@]}" "${FAST_OPTS[@]}" -jar "$WORK/fast/$JAR_NAME"
+if [ -x target/taskscheduler ]; then
+    measure "native image" target/taskscheduler --spring.profiles.active=faststart
+fi
@@ -0,0 +1,164 @@
+package com.taskscheduler.taskscheduler.codec;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reader for the subset of CBOR produced by {@link CborWriter}. {@link #skipValue()} also steps
+ * over any other definite-length item, so decoders can ignore fields they do not know.
+ * Malformed or truncated input fails with {@link IllegalStateException}.
+ */
+final class CborReader {
+
+    private static final int MAJOR_BYTES = 2;
+    private static final int MAJOR_TAG = 6;
+    private static final int SIMPLE = 7;
+
+    private final byte[] data;
+    private int position;
+
+    CborReader(byte[] data) {
+        this.data = data;
+    }
+
+    int peekMajorType() {
+        require(1);
+        return (data[position] & 0xFF) >> 5;
+    }
+
+    boolean peekNull() {
+        require(1);
+        return (data[position] & 0xFF) == 0xF6;
+    }
+
+    int readArrayHeader() {
+        return readLength(CborWriter.MAJOR_ARRAY);
+    }
+
+    int readMapHeader() {
+        return readLength(CborWriter.MAJOR_MAP);
+    }
+
+    long readLong() {
+        if (peekMajorType() == CborWriter.MAJOR_NEGATIVE) {
+            return -1 - readHeader(CborWriter.MAJOR_NEGATIVE);
+        }
+        return readHeader(CborWriter.MAJOR_UNSIGNED);
+    }
+
+    boolean readBoolean() {
+        require(1);
+        int b = data[position++] & 0xFF;
+        if (b != 0xF4 && b != 0xF5) {
+            throw new IllegalStateException("Expected boolean at offset " + (position - 1));
+        }
+        return b == 0xF5;
+    }
+
+    void readNull() {
+        require(1);
+        if ((data[position++] & 0xFF) != 0xF6) {
+            throw new IllegalStateException("Expected null at offset " + (position - 1));
+        }
+    }
+
+    String readString() {
+        int length = readLength(CborWriter.MAJOR_TEXT);
+        String value = new String(data, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    boolean hasRemaining() {
+        return position < data.length;
+    }
+
+    /**
+     * Steps over the next item, including everything nested in it.
+     */
+    void skipValue() {
+        require(1);
+        int initial = data[position] & 0xFF;
+        int major = initial >> 5;
+        switch (major) {
+            case CborWriter.MAJOR_UNSIGNED, CborWriter.MAJOR_NEGATIVE -> readHeader(major);
+            case MAJOR_BYTES, CborWriter.MAJOR_TEXT -> {
+                int length = readLength(major);
+                position += length;
+            }
+            case CborWriter.MAJOR_ARRAY -> {
+                int items = readLength(major);
+                for (int i = 0; i < items; i++) {
+                    skipValue();
+                }
+            }
+            case CborWriter.MAJOR_MAP -> {
+                int entries = readLength(major);
+                for (int i = 0; i < entries; i++) {
+                    skipValue();
+                    skipValue();
+                }
+            }
+            case MAJOR_TAG -> {
+                readHeader(major);
+                skipValue();
+            }
+            default -> {
+                int bytes = switch (initial & 0x1F) {
+                    case 24 -> 1;
+                    case 25 -> 2;
+                    case 26 -> 4;
+                    case 27 -> 8;
+                    case 28, 29, 30, 31 -> throw new IllegalStateException(
+                            "Unsupported simple value at offset " + position);
+                    default -> 0;
+                };
+                require(1 + bytes);
+                position += 1 + bytes;
+            }
+        }
+    }
+
+    // Every item takes at least one byte, so a string length or item count larger than what is
+    // left is malformed and is rejected before anything is sized from it.
+    private int readLength(int major) {
+        long length = readHeader(major);
+        if (length < 0 || length > data.length - position) {
+            throw new IllegalStateException("Length " + length + " at offset " + position
+                    + " runs past the end of the input");
+        }
+        return (int) length;
+    }
+
+    private void require(int bytes) {
+        if (position + bytes > data.length) {
+            throw new IllegalStateException("Truncated CBOR input at offset " + position);
+        }
+    }
+
+    private long readHeader(int expectedMajor) {
+        require(1);
+        int initial = data[position++] & 0xFF;
+        int major = initial >> 5;
+        if (major != expectedMajor || major == SIMPLE) {
+            throw new IllegalStateException("Expected major type " + expectedMajor + " but found "
+                    + major + " at offset " + (position - 1));
+        }
+        int additional = initial & 0x1F;
+        if (additional < 24) {
+            return additional;
+        }
+        int bytes = switch (additional) {
+            case 24 -> 1;
+            case 25 -> 2;
+            case 26 -> 4;
+            case 27 -> 8;
+            default -> throw new IllegalStateException("Unsupported additional info " + additional);
+        };
+        require(bytes);
+        long value = 0;
+        for (int i = 0; i < bytes; i++) {
+            value = (value << 8) | (data[position++] & 0xFF);
+        }
+        return value;
+    }
+}
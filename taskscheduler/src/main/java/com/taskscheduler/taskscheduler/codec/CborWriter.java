@@ -0,0 +1,147 @@
+package com.taskscheduler.taskscheduler.codec;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Minimal CBOR (RFC 8949) writer over a reusable byte buffer that is flushed to the
+ * underlying stream when full. Strings are UTF-8 encoded straight into the buffer.
+ */
+final class CborWriter {
+
+    static final int MAJOR_UNSIGNED = 0;
+    static final int MAJOR_NEGATIVE = 1;
+    static final int MAJOR_TEXT = 3;
+    static final int MAJOR_ARRAY = 4;
+    static final int MAJOR_MAP = 5;
+
+    private static final int FALSE = 0xF4;
+    private static final int TRUE = 0xF5;
+    private static final int NULL = 0xF6;
+
+    private final OutputStream out;
+    private final byte[] buffer;
+    private int position;
+
+    CborWriter(OutputStream out, int bufferSize) {
+        this.out = out;
+        this.buffer = new byte[bufferSize];
+    }
+
+    void writeArrayHeader(int size) throws IOException {
+        writeHeader(MAJOR_ARRAY, size);
+    }
+
+    void writeMapHeader(int size) throws IOException {
+        writeHeader(MAJOR_MAP, size);
+    }
+
+    void writeLong(long value) throws IOException {
+        if (value >= 0) {
+            writeHeader(MAJOR_UNSIGNED, value);
+        } else {
+            writeHeader(MAJOR_NEGATIVE, -1 - value);
+        }
+    }
+
+    void writeBoolean(boolean value) throws IOException {
+        ensure(1);
+        buffer[position++] = (byte) (value ? TRUE : FALSE);
+    }
+
+    void writeNull() throws IOException {
+        ensure(1);
+        buffer[position++] = (byte) NULL;
+    }
+
+    void writeString(String value) throws IOException {
+        int length = utf8Length(value);
+        writeHeader(MAJOR_TEXT, length);
+        if (length > buffer.length) {
+            flush();
+            out.write(value.getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        ensure(length);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buffer[position++] = (byte) c;
+            } else if (c < 0x800) {
+                buffer[position++] = (byte) (0xC0 | (c >> 6));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else {
+                // Unpaired surrogates are encoded as U+FFFD, matching String.getBytes.
+                char encoded = Character.isSurrogate(c) ? '\uFFFD' : c;
+                buffer[position++] = (byte) (0xE0 | (encoded >> 12));
+                buffer[position++] = (byte) (0x80 | ((encoded >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (encoded & 0x3F));
+            }
+        }
+    }
+
+    void flush() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+
+    private void writeHeader(int major, long argument) throws IOException {
+        ensure(9);
+        int type = major << 5;
+        if (argument < 24) {
+            buffer[position++] = (byte) (type | argument);
+        } else if (argument <= 0xFF) {
+            buffer[position++] = (byte) (type | 24);
+            buffer[position++] = (byte) argument;
+        } else if (argument <= 0xFFFF) {
+            buffer[position++] = (byte) (type | 25);
+            buffer[position++] = (byte) (argument >> 8);
+            buffer[position++] = (byte) argument;
+        } else if (argument <= 0xFFFFFFFFL) {
+            buffer[position++] = (byte) (type | 26);
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                buffer[position++] = (byte) (argument >> shift);
+            }
+        } else {
+            buffer[position++] = (byte) (type | 27);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[position++] = (byte) (argument >> shift);
+            }
+        }
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (position + bytes > buffer.length) {
+            flush();
+        }
+    }
+
+    private static int utf8Length(String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+}
@@ -0,0 +1,282 @@
+package com.taskscheduler.taskscheduler.codec;
+
+import com.taskscheduler.taskscheduler.exception.ApiError;
+import com.taskscheduler.taskscheduler.model.Priority;
+import com.taskscheduler.taskscheduler.model.Recurrence;
+import com.taskscheduler.taskscheduler.model.RetryPolicy;
+import com.taskscheduler.taskscheduler.model.Status;
+import com.taskscheduler.taskscheduler.model.Task;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hand-written CBOR encoding of {@link Task}. A task is a map keyed by small integers
+ * (like protobuf field numbers) rather than property names; timestamps are epoch
+ * milliseconds and enums are ordinals. Null fields are omitted.
+ *
+ * <pre>
+ *  1 id                  7 createdAt       13 retryPolicy {1 maxAttempts, 2 initialBackoffMs, 3 maxBackoffMs}
+ *  2 title               8 updatedAt       14 attempts
+ *  3 description         9 dependsOn []    15 nextRetryAt
+ *  4 priority (ordinal) 10 recurrence      16 deadLettered
+ *  5 status (ordinal)      {1 cron, 2 fixedRateMs}
+ *  6 deleted            11 recurrenceOf    17 leaseOwner
+ *                       12 scheduledAt     18 leaseExpiresAt
+ *                                         19 dueAt
+ *                                         20 tenantId
+ * </pre>
+ *
+ * An {@link ApiError} is encoded as {1 error, 2 message}. The decoder skips keys it does not
+ * know, so new fields can be added without breaking older readers; ordinals outside the known
+ * enum values and malformed input fail with {@link IllegalStateException}.
+ */
+public final class TaskCborCodec {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final int ID = 1;
+    private static final int TITLE = 2;
+    private static final int DESCRIPTION = 3;
+    private static final int PRIORITY = 4;
+    private static final int STATUS = 5;
+    private static final int DELETED = 6;
+    private static final int CREATED_AT = 7;
+    private static final int UPDATED_AT = 8;
+    private static final int DEPENDS_ON = 9;
+    private static final int RECURRENCE = 10;
+    private static final int RECURRENCE_OF = 11;
+    private static final int SCHEDULED_AT = 12;
+    private static final int RETRY_POLICY = 13;
+    private static final int ATTEMPTS = 14;
+    private static final int NEXT_RETRY_AT = 15;
+    private static final int DEAD_LETTERED = 16;
+    private static final int LEASE_OWNER = 17;
+    private static final int LEASE_EXPIRES_AT = 18;
+    private static final int DUE_AT = 19;
+    private static final int TENANT_ID = 20;
+
+    private static final Priority[] PRIORITIES = Priority.values();
+    private static final Status[] STATUSES = Status.values();
+
+    private TaskCborCodec() {
+    }
+
+    public static void encode(Task task, OutputStream out) throws IOException {
+        CborWriter writer = new CborWriter(out, BUFFER_SIZE);
+        writeTask(writer, task);
+        writer.flush();
+    }
+
+    public static void encodeList(List<Task> tasks, OutputStream out) throws IOException {
+        CborWriter writer = new CborWriter(out, BUFFER_SIZE);
+        writer.writeArrayHeader(tasks.size());
+        for (Task task : tasks) {
+            writeTask(writer, task);
+        }
+        writer.flush();
+    }
+
+    public static void encodeError(ApiError error, OutputStream out) throws IOException {
+        CborWriter writer = new CborWriter(out, BUFFER_SIZE);
+        writer.writeMapHeader((error.getError() != null ? 1 : 0) + (error.getMessage() != null ? 1 : 0));
+        if (error.getError() != null) {
+            writer.writeLong(1);
+            writer.writeString(error.getError());
+        }
+        if (error.getMessage() != null) {
+            writer.writeLong(2);
+            writer.writeString(error.getMessage());
+        }
+        writer.flush();
+    }
+
+    public static Task decode(byte[] data) {
+        return readTask(new CborReader(data));
+    }
+
+    public static List<Task> decodeList(byte[] data) {
+        CborReader reader = new CborReader(data);
+        int size = reader.readArrayHeader();
+        List<Task> tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            tasks.add(readTask(reader));
+        }
+        return tasks;
+    }
+
+    private static void writeTask(CborWriter writer, Task task) throws IOException {
+        writer.writeMapHeader(fieldCount(task));
+        writeLong(writer, ID, task.getId());
+        writeString(writer, TITLE, task.getTitle());
+        writeString(writer, DESCRIPTION, task.getDescription());
+        if (task.getPriority() != null) {
+            writer.writeLong(PRIORITY);
+            writer.writeLong(task.getPriority().ordinal());
+        }
+        if (task.getStatus() != null) {
+            writer.writeLong(STATUS);
+            writer.writeLong(task.getStatus().ordinal());
+        }
+        writer.writeLong(DELETED);
+        writer.writeBoolean(task.isDeleted());
+        writeInstant(writer, CREATED_AT, task.getCreatedAt());
+        writeInstant(writer, UPDATED_AT, task.getUpdatedAt());
+        if (task.getDependsOn() != null) {
+            writer.writeLong(DEPENDS_ON);
+            writer.writeArrayHeader(task.getDependsOn().size());
+            for (Long dependencyId : task.getDependsOn()) {
+                writer.writeLong(dependencyId);
+            }
+        }
+        Recurrence recurrence = task.getRecurrence();
+        if (recurrence != null) {
+            writer.writeLong(RECURRENCE);
+            writer.writeMapHeader((recurrence.getCron() != null ? 1 : 0) + (recurrence.getFixedRateMs() != null ? 1 : 0));
+            writeString(writer, 1, recurrence.getCron());
+            writeLong(writer, 2, recurrence.getFixedRateMs());
+        }
+        writeLong(writer, RECURRENCE_OF, task.getRecurrenceOf());
+        writeInstant(writer, SCHEDULED_AT, task.getScheduledAt());
+        RetryPolicy retryPolicy = task.getRetryPolicy();
+        if (retryPolicy != null) {
+            writer.writeLong(RETRY_POLICY);
+            writer.writeMapHeader(3);
+            writeLong(writer, 1, (long) retryPolicy.getMaxAttempts());
+            writeLong(writer, 2, retryPolicy.getInitialBackoffMs());
+            writeLong(writer, 3, retryPolicy.getMaxBackoffMs());
+        }
+        writer.writeLong(ATTEMPTS);
+        writer.writeLong(task.getAttempts());
+        writeInstant(writer, NEXT_RETRY_AT, task.getNextRetryAt());
+        writer.writeLong(DEAD_LETTERED);
+        writer.writeBoolean(task.isDeadLettered());
+        writeString(writer, LEASE_OWNER, task.getLeaseOwner());
+        writeInstant(writer, LEASE_EXPIRES_AT, task.getLeaseExpiresAt());
+        writeInstant(writer, DUE_AT, task.getDueAt());
+        writeString(writer, TENANT_ID, task.getTenantId());
+    }
+
+    // Must agree with the fields writeTask emits; deleted, attempts and deadLettered are always present.
+    private static int fieldCount(Task task) {
+        return 3
+                + present(task.getId()) + present(task.getTitle()) + present(task.getDescription())
+                + present(task.getPriority()) + present(task.getStatus())
+                + present(task.getCreatedAt()) + present(task.getUpdatedAt())
+                + present(task.getDependsOn()) + present(task.getRecurrence())
+                + present(task.getRecurrenceOf()) + present(task.getScheduledAt())
+                + present(task.getRetryPolicy()) + present(task.getNextRetryAt())
+                + present(task.getLeaseOwner()) + present(task.getLeaseExpiresAt())
+                + present(task.getDueAt()) + present(task.getTenantId());
+    }
+
+    private static int present(Object value) {
+        return value != null ? 1 : 0;
+    }
+
+    private static void writeLong(CborWriter writer, int key, Long value) throws IOException {
+        if (value != null) {
+            writer.writeLong(key);
+            writer.writeLong(value);
+        }
+    }
+
+    private static void writeString(CborWriter writer, int key, String value) throws IOException {
+        if (value != null) {
+            writer.writeLong(key);
+            writer.writeString(value);
+        }
+    }
+
+    private static void writeInstant(CborWriter writer, int key, Instant value) throws IOException {
+        if (value != null) {
+            writer.writeLong(key);
+            writer.writeLong(value.toEpochMilli());
+        }
+    }
+
+    private static Task readTask(CborReader reader) {
+        Task task = new Task();
+        int fields = reader.readMapHeader();
+        for (int i = 0; i < fields; i++) {
+            long key = reader.readLong();
+            switch ((int) Math.min(key, Integer.MAX_VALUE)) {
+                case ID -> task.setId(reader.readLong());
+                case TITLE -> task.setTitle(reader.readString());
+                case DESCRIPTION -> task.setDescription(reader.readString());
+                case PRIORITY -> task.setPriority(ordinal(PRIORITIES, reader.readLong()));
+                case STATUS -> task.setStatus(ordinal(STATUSES, reader.readLong()));
+                case DELETED -> task.setDeleted(reader.readBoolean());
+                case CREATED_AT -> task.setCreatedAt(Instant.ofEpochMilli(reader.readLong()));
+                case UPDATED_AT -> task.setUpdatedAt(Instant.ofEpochMilli(reader.readLong()));
+                case DEPENDS_ON -> {
+                    int size = reader.readArrayHeader();
+                    List<Long> dependsOn = new ArrayList<>(size);
+                    for (int j = 0; j < size; j++) {
+                        dependsOn.add(reader.readLong());
+                    }
+                    task.setDependsOn(dependsOn);
+                }
+                case RECURRENCE -> task.setRecurrence(readRecurrence(reader));
+                case RECURRENCE_OF -> task.setRecurrenceOf(reader.readLong());
+                case SCHEDULED_AT -> task.setScheduledAt(Instant.ofEpochMilli(reader.readLong()));
+                case RETRY_POLICY -> task.setRetryPolicy(readRetryPolicy(reader));
+                case ATTEMPTS -> task.setAttempts((int) reader.readLong());
+                case NEXT_RETRY_AT -> task.setNextRetryAt(Instant.ofEpochMilli(reader.readLong()));
+                case DEAD_LETTERED -> task.setDeadLettered(reader.readBoolean());
+                case LEASE_OWNER -> task.setLeaseOwner(reader.readString());
+                case LEASE_EXPIRES_AT -> task.setLeaseExpiresAt(Instant.ofEpochMilli(reader.readLong()));
+                case DUE_AT -> task.setDueAt(Instant.ofEpochMilli(reader.readLong()));
+                case TENANT_ID -> task.setTenantId(reader.readString());
+                // A field added by a newer encoder.
+                default -> reader.skipValue();
+            }
+        }
+        return task;
+    }
+
+    private static Recurrence readRecurrence(CborReader reader) {
+        Recurrence recurrence = new Recurrence();
+        int fields = reader.readMapHeader();
+        for (int i = 0; i < fields; i++) {
+            long key = reader.readLong();
+            if (key == 1) {
+                recurrence.setCron(reader.readString());
+            } else if (key == 2) {
+                recurrence.setFixedRateMs(reader.readLong());
+            } else {
+                reader.skipValue();
+            }
+        }
+        return recurrence;
+    }
+
+    private static RetryPolicy readRetryPolicy(CborReader reader) {
+        RetryPolicy policy = new RetryPolicy();
+        int fields = reader.readMapHeader();
+        for (int i = 0; i < fields; i++) {
+            long key = reader.readLong();
+            if (key == 1) {
+                policy.setMaxAttempts((int) reader.readLong());
+            } else if (key == 2) {
+                policy.setInitialBackoffMs(reader.readLong());
+            } else if (key == 3) {
+                policy.setMaxBackoffMs(reader.readLong());
+            } else {
+                reader.skipValue();
+            }
+        }
+        return policy;
+    }
+
+    private static <E extends Enum<E>> E ordinal(E[] values, long ordinal) {
+        if (ordinal < 0 || ordinal >= values.length) {
+            throw new IllegalStateException("Unknown " + values[0].getDeclaringClass().getSimpleName()
+                    + " ordinal " + ordinal);
+        }
+        return values[(int) ordinal];
+    }
+}
@@ -0,0 +1,54 @@
+package com.taskscheduler.taskscheduler.codec;
+
+import com.taskscheduler.taskscheduler.exception.ApiError;
+import com.taskscheduler.taskscheduler.model.Task;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes tasks, task lists and errors as {@code application/cbor} using {@link TaskCborCodec}.
+ * Request bodies stay JSON, so this converter never reads.
+ */
+public class TaskCborHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    public TaskCborHttpMessageConverter() {
+        super(MediaType.APPLICATION_CBOR);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return Task.class.isAssignableFrom(clazz) || List.class.isAssignableFrom(clazz)
+                || ApiError.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("CBOR request bodies are not supported", inputMessage);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(Object body, HttpOutputMessage outputMessage) throws IOException {
+        if (body instanceof Task task) {
+            TaskCborCodec.encode(task, outputMessage.getBody());
+        } else if (body instanceof ApiError error) {
+            TaskCborCodec.encodeError(error, outputMessage.getBody());
+        } else if (body instanceof List<?> list && list.stream().allMatch(Task.class::isInstance)) {
+            TaskCborCodec.encodeList((List<Task>) list, outputMessage.getBody());
+        } else {
+            throw new HttpMessageNotWritableException("Cannot encode " + body.getClass().getName() + " as CBOR");
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.taskscheduler.taskscheduler.config;
+
+import com.taskscheduler.taskscheduler.jfr.RepositoryOperationEvent;
+import com.taskscheduler.taskscheduler.jfr.RepositoryScanEvent;
+import com.taskscheduler.taskscheduler.jfr.StatusTransitionEvent;
+import com.taskscheduler.taskscheduler.jfr.TaskOperationEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+
+import java.util.List;
+
+/**
+ * Registers the application's JFR events when {@code taskscheduler.jfr.enabled=true}.
+ * Until then the event classes report themselves disabled and are never written, so the
+ * calls in the service and repository cost a short-lived object that escape analysis
+ * usually removes. Once registered, events are only written while a recording enables them;
+ * see {@code jfr/taskscheduler.jfc}.
+ * <p>
+ * Nothing injects this bean, so it is created eagerly even under the {@code faststart}
+ * profile's lazy initialization; otherwise the events would never be registered there. The
+ * property is checked when the bean starts rather than with a condition, which an AOT-processed
+ * build would evaluate once at build time.
+ */
+@Configuration
+@Lazy(false)
+public class JfrConfig {
+
+    private static final List<Class<? extends Event>> EVENTS = List.of(
+            TaskOperationEvent.class,
+            StatusTransitionEvent.class,
+            RepositoryOperationEvent.class,
+            RepositoryScanEvent.class);
+
+    private final boolean enabled;
+
+    public JfrConfig(@Value("${taskscheduler.jfr.enabled:false}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @PostConstruct
+    void registerEvents() {
+        if (enabled && FlightRecorder.isAvailable()) {
+            EVENTS.forEach(FlightRecorder::register);
+        }
+    }
+
+    @PreDestroy
+    void unregisterEvents() {
+        if (enabled && FlightRecorder.isAvailable()) {
+            EVENTS.forEach(FlightRecorder::unregister);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.taskscheduler.taskscheduler.config;
+
+import com.taskscheduler.taskscheduler.ratelimit.AdaptiveLoadShedder;
+import com.taskscheduler.taskscheduler.ratelimit.RateLimitInterceptor;
+import com.taskscheduler.taskscheduler.ratelimit.RateLimitTier;
+import com.taskscheduler.taskscheduler.ratelimit.TenantConcurrencyLimiter;
+import com.taskscheduler.taskscheduler.ratelimit.TokenBucketRateLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.Map;
+
+@Configuration
+public class RateLimitConfig implements WebMvcConfigurer {
+
+    private final boolean enabled;
+    private final RateLimitInterceptor interceptor;
+
+    public RateLimitConfig(@Value("${taskscheduler.ratelimit.enabled:true}") boolean enabled,
+                           @Value("${taskscheduler.ratelimit.max-clients:100000}") int maxClients,
+                           @Value("${taskscheduler.ratelimit.cheap.permits-per-second:200}") double cheapRate,
+                           @Value("${taskscheduler.ratelimit.cheap.burst:400}") int cheapBurst,
+                           @Value("${taskscheduler.ratelimit.expensive.permits-per-second:5}") double expensiveRate,
+                           @Value("${taskscheduler.ratelimit.expensive.burst:10}") int expensiveBurst,
+                           @Value("${taskscheduler.ratelimit.shed.target-latency:250ms}") Duration targetLatency,
+                           @Value("${taskscheduler.tenant.max-tenants:1000}") int maxTenants,
+                           @Value("${taskscheduler.tenant.cheap.permits-per-second:1000}") double tenantCheapRate,
+                           @Value("${taskscheduler.tenant.cheap.burst:2000}") int tenantCheapBurst,
+                           @Value("${taskscheduler.tenant.expensive.permits-per-second:20}") double tenantExpensiveRate,
+                           @Value("${taskscheduler.tenant.expensive.burst:40}") int tenantExpensiveBurst,
+                           @Value("${taskscheduler.tenant.max-concurrent-requests:0}") int tenantMaxConcurrent) {
+        this.enabled = enabled;
+        this.interceptor = new RateLimitInterceptor(
+                Map.of(RateLimitTier.CHEAP, new TokenBucketRateLimiter(cheapRate, cheapBurst, maxClients),
+                        RateLimitTier.EXPENSIVE, new TokenBucketRateLimiter(expensiveRate, expensiveBurst, maxClients)),
+                Map.of(RateLimitTier.CHEAP, new TokenBucketRateLimiter(tenantCheapRate, tenantCheapBurst, maxTenants),
+                        RateLimitTier.EXPENSIVE,
+                        new TokenBucketRateLimiter(tenantExpensiveRate, tenantExpensiveBurst, maxTenants)),
+                new AdaptiveLoadShedder(targetLatency.toNanos()),
+                new TenantConcurrencyLimiter(tenantMaxConcurrent));
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (enabled) {
+            registry.addInterceptor(interceptor).addPathPatterns("/tasks", "/tasks/**");
+        }
+    }
+}
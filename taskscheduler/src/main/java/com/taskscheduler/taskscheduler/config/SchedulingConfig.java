@@ -0,0 +1,44 @@
+package com.taskscheduler.taskscheduler.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class SchedulingConfig {
+
+    /**
+     * Shared timer for delayed work (recurrences, retries, lease expiry). Its delay queue is a
+     * time-ordered heap, so pending timers cost memory but no CPU until they are due.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ScheduledExecutorService taskTimer(@Value("${taskscheduler.timer.threads:2}") int threads) {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(threads, daemonThreads("task-timer-"));
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+
+    /**
+     * Runs long-poll claims once work is offered, so claiming never queues behind the timers.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService claimExecutor(@Value("${taskscheduler.claim.threads:2}") int threads) {
+        return Executors.newFixedThreadPool(threads, daemonThreads("task-claim-"));
+    }
+
+    private static ThreadFactory daemonThreads(String namePrefix) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
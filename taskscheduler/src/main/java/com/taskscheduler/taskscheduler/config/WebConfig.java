@@ -0,0 +1,15 @@
+package com.taskscheduler.taskscheduler.config;
+
+import com.taskscheduler.taskscheduler.codec.TaskCborHttpMessageConverter;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverters;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Override
+    public void configureMessageConverters(HttpMessageConverters.ServerBuilder builder) {
+        builder.withCborConverter(new TaskCborHttpMessageConverter());
+    }
+}
@@ -1,30 +1,50 @@
 package com.taskscheduler.taskscheduler.controller;
 
 import com.taskscheduler.taskscheduler.dto.CreateTaskRequest;
+import com.taskscheduler.taskscheduler.dto.RetryQueueStats;
 import com.taskscheduler.taskscheduler.dto.StatusUpdateRequest;
+import com.taskscheduler.taskscheduler.dto.TaskHistory;
+import com.taskscheduler.taskscheduler.dto.TaskStatistics;
 import com.taskscheduler.taskscheduler.dto.UpdateTaskRequest;
 import com.taskscheduler.taskscheduler.model.Task;
+import com.taskscheduler.taskscheduler.ratelimit.RateLimitTier;
+import com.taskscheduler.taskscheduler.ratelimit.RateLimited;
 import com.taskscheduler.taskscheduler.service.TaskService;
+import com.taskscheduler.taskscheduler.tenant.Tenants;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequestMapping("/tasks")
 public class TaskController {
 
+    private static final long CLAIM_TIMEOUT_MARGIN_MS = 5_000;
+    private static final String WORKER_HEADER = "X-Worker-Id";
+
     private final TaskService taskService;
+    private final String actorHeader;
 
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService,
+                          @Value("${taskscheduler.history.actor-header:X-Client-Id}") String actorHeader) {
         this.taskService = taskService;
+        this.actorHeader = actorHeader;
     }
 
     @PostMapping
-    public ResponseEntity<Task> create(@Valid @RequestBody CreateTaskRequest request) {
-        Task task = taskService.create(request);
+    public ResponseEntity<Task> create(@Valid @RequestBody CreateTaskRequest request,
+                                       @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+                                       @RequestHeader(value = Tenants.HEADER, required = false) String tenantId,
+                                       HttpServletRequest servletRequest) {
+        Task task = taskService.create(tenantId, request, idempotencyKey, actor(servletRequest));
         return ResponseEntity.status(HttpStatus.CREATED).body(task);
     }
 
@@ -34,32 +54,113 @@ public class TaskController {
 //    }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Task> getById(@PathVariable Long id) {
-        Task task = taskService.getById(id);
+    public ResponseEntity<Task> getById(@PathVariable Long id, @RequestHeader(value = Tenants.HEADER, required = false) String tenantId) {
+        Task task = taskService.getById(tenantId, id);
         return ResponseEntity.ok(task);
     }
 
+    @GetMapping("/{id}/history")
+    public ResponseEntity<TaskHistory> history(@PathVariable Long id, @RequestHeader(value = Tenants.HEADER, required = false) String tenantId) {
+        return ResponseEntity.ok(taskService.history(tenantId, id));
+    }
+
     @PutMapping("/{id}")
-    public ResponseEntity<Task> update(@PathVariable Long id, @Valid @RequestBody UpdateTaskRequest request) {
-        Task task = taskService.update(id, request);
+    public ResponseEntity<Task> update(@PathVariable Long id, @Valid @RequestBody UpdateTaskRequest request,
+                                       @RequestHeader(value = Tenants.HEADER, required = false) String tenantId,
+                                       HttpServletRequest servletRequest) {
+        Task task = taskService.update(tenantId, id, request, actor(servletRequest));
         return ResponseEntity.ok(task);
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Task> softDelete(@PathVariable Long id) {
-        Task task = taskService.softDelete(id);
+    public ResponseEntity<Task> softDelete(@PathVariable Long id, @RequestHeader(value = Tenants.HEADER, required = false) String tenantId,
+                                           HttpServletRequest servletRequest) {
+        Task task = taskService.softDelete(tenantId, id, actor(servletRequest));
         return ResponseEntity.ok(task);
     }
 
     @GetMapping
-    public ResponseEntity<List<Task>> listActive() {
-        List<Task> tasks = taskService.listActive();
+    @RateLimited(RateLimitTier.EXPENSIVE)
+    public ResponseEntity<List<Task>> listActive(@RequestHeader(value = Tenants.HEADER, required = false) String tenantId) {
+        List<Task> tasks = taskService.listActive(tenantId);
         return ResponseEntity.ok(tasks);
     }
 
+    @GetMapping("/dead-letter")
+    public ResponseEntity<List<Task>> listDeadLettered(@RequestHeader(value = Tenants.HEADER, required = false) String tenantId) {
+        return ResponseEntity.ok(taskService.listDeadLettered(tenantId));
+    }
+
+    @GetMapping("/overdue")
+    public ResponseEntity<List<Task>> listOverdue(@RequestParam(defaultValue = "1000") int limit,
+                                                  @RequestHeader(value = Tenants.HEADER, required = false) String tenantId) {
+        return ResponseEntity.ok(taskService.listOverdue(tenantId, limit));
+    }
+
+    @GetMapping("/retries")
+    public ResponseEntity<RetryQueueStats> retryStats(@RequestHeader(value = Tenants.HEADER, required = false) String tenantId) {
+        return ResponseEntity.ok(taskService.retryStats(tenantId));
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStatistics> statistics(@RequestHeader(value = Tenants.HEADER, required = false) String tenantId) {
+        return ResponseEntity.ok(taskService.statistics(tenantId));
+    }
+
+    /**
+     * Long-polls for work. The servlet thread is released while waiting; the response is
+     * written when the claim future completes.
+     */
+    @PostMapping("/claim")
+    @RateLimited(value = RateLimitTier.CHEAP, sampleLatency = false)
+    public DeferredResult<ResponseEntity<List<Task>>> claim(@RequestParam(defaultValue = "1") int max,
+                                                            @RequestParam(defaultValue = "30000") long leaseMs,
+                                                            @RequestParam(defaultValue = "20000") long waitMs,
+                                                            @RequestHeader(value = WORKER_HEADER, required = false) String workerId,
+                                                            @RequestHeader(value = Tenants.HEADER, required = false) String tenantId,
+                                                            HttpServletRequest servletRequest) {
+        CompletableFuture<List<Task>> claim =
+                taskService.claim(tenantId, max, leaseMs, waitMs, workerId, actor(servletRequest));
+        DeferredResult<ResponseEntity<List<Task>>> result =
+                new DeferredResult<>(waitMs + CLAIM_TIMEOUT_MARGIN_MS, () -> ResponseEntity.ok(List.of()));
+        // A timed-out or disconnected request hands back anything claimed for it afterwards.
+        result.onCompletion(() -> claim.cancel(false));
+        claim.whenComplete((tasks, ex) -> {
+            if (ex != null) {
+                result.setErrorResult(ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex);
+            } else {
+                result.setResult(ResponseEntity.ok(tasks));
+            }
+        });
+        return result;
+    }
+
+    @PostMapping("/{id}/heartbeat")
+    public ResponseEntity<Task> heartbeat(@PathVariable Long id,
+                                          @RequestParam(defaultValue = "30000") long leaseMs,
+                                          @RequestHeader(value = WORKER_HEADER, required = false) String workerId,
+                                          @RequestHeader(value = Tenants.HEADER, required = false) String tenantId) {
+        return ResponseEntity.ok(taskService.heartbeat(tenantId, id, leaseMs, workerId));
+    }
+
     @PatchMapping("/{id}/status")
-    public ResponseEntity<Task> updateStatus(@PathVariable Long id, @Valid @RequestBody StatusUpdateRequest request) {
-        Task task = taskService.updateStatus(id, request);
+    public ResponseEntity<Task> updateStatus(@PathVariable Long id, @Valid @RequestBody StatusUpdateRequest request,
+                                             @RequestHeader(value = Tenants.HEADER, required = false) String tenantId,
+                                             HttpServletRequest servletRequest) {
+        Task task = taskService.updateStatus(tenantId, id, request, actor(servletRequest));
         return ResponseEntity.ok(task);
     }
+
+    // Who the task history attributes a change to: the worker, else the client named in the
+    // actor header, else the remote address. Changes made by timers are recorded as "system".
+    private String actor(HttpServletRequest request) {
+        String actor = request.getHeader(WORKER_HEADER);
+        if (actor == null || actor.isBlank()) {
+            actor = request.getHeader(actorHeader);
+        }
+        if (actor == null || actor.isBlank()) {
+            actor = request.getRemoteAddr();
+        }
+        return actor;
+    }
 }
@@ -1,10 +1,16 @@
 package com.taskscheduler.taskscheduler.dto;
 
 import com.taskscheduler.taskscheduler.model.Priority;
+import com.taskscheduler.taskscheduler.model.Recurrence;
+import com.taskscheduler.taskscheduler.model.RetryPolicy;
+import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 
+import java.time.Instant;
+import java.util.List;
+
 public class CreateTaskRequest {
     @NotBlank(message = "title is required")
     @Size(max = 100, message = "title must be at most 100 characters")
@@ -15,6 +21,15 @@ public class CreateTaskRequest {
     @NotNull(message = "priority must be LOW, MEDIUM, HIGH")
     private Priority priority;
 
+    private List<Long> dependsOn;
+
+    private Recurrence recurrence;
+
+    private RetryPolicy retryPolicy; // null uses the configured default
+
+    @Future(message = "dueAt must be in the future")
+    private Instant dueAt;
+
     public String getTitle() {
         return title;
     }
@@ -38,4 +53,36 @@ public class CreateTaskRequest {
     public void setPriority(Priority priority) {
         this.priority = priority;
     }
+
+    public List<Long> getDependsOn() {
+        return dependsOn;
+    }
+
+    public void setDependsOn(List<Long> dependsOn) {
+        this.dependsOn = dependsOn;
+    }
+
+    public Recurrence getRecurrence() {
+        return recurrence;
+    }
+
+    public void setRecurrence(Recurrence recurrence) {
+        this.recurrence = recurrence;
+    }
+
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    public void setRetryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
+    }
+
+    public Instant getDueAt() {
+        return dueAt;
+    }
+
+    public void setDueAt(Instant dueAt) {
+        this.dueAt = dueAt;
+    }
 }
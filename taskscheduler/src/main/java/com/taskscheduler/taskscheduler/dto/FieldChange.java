@@ -0,0 +1,44 @@
+package com.taskscheduler.taskscheduler.dto;
+
+/**
+ * One field changed by a history event. {@code from} is null when the field was previously
+ * unset or when the earlier value has fallen out of the retained history.
+ */
+public class FieldChange {
+    private String field;
+    private Object from;
+    private Object to;
+
+    public FieldChange() {
+    }
+
+    public FieldChange(String field, Object from, Object to) {
+        this.field = field;
+        this.from = from;
+        this.to = to;
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    public void setField(String field) {
+        this.field = field;
+    }
+
+    public Object getFrom() {
+        return from;
+    }
+
+    public void setFrom(Object from) {
+        this.from = from;
+    }
+
+    public Object getTo() {
+        return to;
+    }
+
+    public void setTo(Object to) {
+        this.to = to;
+    }
+}
@@ -0,0 +1,74 @@
+package com.taskscheduler.taskscheduler.dto;
+
+/**
+ * Summary of a latency histogram in milliseconds. Percentiles are bucket upper bounds,
+ * accurate to within 25%.
+ */
+public class LatencyStats {
+    private long count;
+    private long meanMs;
+    private long p50Ms;
+    private long p90Ms;
+    private long p99Ms;
+    private long maxMs;
+
+    public LatencyStats() {
+    }
+
+    public LatencyStats(long count, long meanMs, long p50Ms, long p90Ms, long p99Ms, long maxMs) {
+        this.count = count;
+        this.meanMs = meanMs;
+        this.p50Ms = p50Ms;
+        this.p90Ms = p90Ms;
+        this.p99Ms = p99Ms;
+        this.maxMs = maxMs;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public long getMeanMs() {
+        return meanMs;
+    }
+
+    public void setMeanMs(long meanMs) {
+        this.meanMs = meanMs;
+    }
+
+    public long getP50Ms() {
+        return p50Ms;
+    }
+
+    public void setP50Ms(long p50Ms) {
+        this.p50Ms = p50Ms;
+    }
+
+    public long getP90Ms() {
+        return p90Ms;
+    }
+
+    public void setP90Ms(long p90Ms) {
+        this.p90Ms = p90Ms;
+    }
+
+    public long getP99Ms() {
+        return p99Ms;
+    }
+
+    public void setP99Ms(long p99Ms) {
+        this.p99Ms = p99Ms;
+    }
+
+    public long getMaxMs() {
+        return maxMs;
+    }
+
+    public void setMaxMs(long maxMs) {
+        this.maxMs = maxMs;
+    }
+}
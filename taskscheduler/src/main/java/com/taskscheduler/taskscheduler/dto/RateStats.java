@@ -0,0 +1,55 @@
+package com.taskscheduler.taskscheduler.dto;
+
+/**
+ * Event count since startup and exponentially weighted moving averages (EWMAs) of the event
+ * rate in events per second, with 1, 5 and 15 minute time constants. An EWMA is not the rate
+ * over the last N minutes: older events still contribute, with exponentially decaying weight.
+ */
+public class RateStats {
+    private long total;
+    private double oneMinuteEwma;
+    private double fiveMinuteEwma;
+    private double fifteenMinuteEwma;
+
+    public RateStats() {
+    }
+
+    public RateStats(long total, double oneMinuteEwma, double fiveMinuteEwma, double fifteenMinuteEwma) {
+        this.total = total;
+        this.oneMinuteEwma = oneMinuteEwma;
+        this.fiveMinuteEwma = fiveMinuteEwma;
+        this.fifteenMinuteEwma = fifteenMinuteEwma;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public double getOneMinuteEwma() {
+        return oneMinuteEwma;
+    }
+
+    public void setOneMinuteEwma(double oneMinuteEwma) {
+        this.oneMinuteEwma = oneMinuteEwma;
+    }
+
+    public double getFiveMinuteEwma() {
+        return fiveMinuteEwma;
+    }
+
+    public void setFiveMinuteEwma(double fiveMinuteEwma) {
+        this.fiveMinuteEwma = fiveMinuteEwma;
+    }
+
+    public double getFifteenMinuteEwma() {
+        return fifteenMinuteEwma;
+    }
+
+    public void setFifteenMinuteEwma(double fifteenMinuteEwma) {
+        this.fifteenMinuteEwma = fifteenMinuteEwma;
+    }
+}
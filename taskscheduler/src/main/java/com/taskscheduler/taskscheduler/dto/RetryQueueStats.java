@@ -0,0 +1,50 @@
+package com.taskscheduler.taskscheduler.dto;
+
+public class RetryQueueStats {
+    private int queueDepth;
+    private int deadLetterCount;
+    private long retriesScheduled;
+    private long averageBackoffMs;
+
+    public RetryQueueStats() {
+    }
+
+    public RetryQueueStats(int queueDepth, int deadLetterCount, long retriesScheduled, long averageBackoffMs) {
+        this.queueDepth = queueDepth;
+        this.deadLetterCount = deadLetterCount;
+        this.retriesScheduled = retriesScheduled;
+        this.averageBackoffMs = averageBackoffMs;
+    }
+
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    public void setQueueDepth(int queueDepth) {
+        this.queueDepth = queueDepth;
+    }
+
+    public int getDeadLetterCount() {
+        return deadLetterCount;
+    }
+
+    public void setDeadLetterCount(int deadLetterCount) {
+        this.deadLetterCount = deadLetterCount;
+    }
+
+    public long getRetriesScheduled() {
+        return retriesScheduled;
+    }
+
+    public void setRetriesScheduled(long retriesScheduled) {
+        this.retriesScheduled = retriesScheduled;
+    }
+
+    public long getAverageBackoffMs() {
+        return averageBackoffMs;
+    }
+
+    public void setAverageBackoffMs(long averageBackoffMs) {
+        this.averageBackoffMs = averageBackoffMs;
+    }
+}
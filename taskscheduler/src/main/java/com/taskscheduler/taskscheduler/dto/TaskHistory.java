@@ -0,0 +1,46 @@
+package com.taskscheduler.taskscheduler.dto;
+
+import java.util.List;
+
+/**
+ * Retained history of one task, oldest event first. {@code truncated} is true when earlier
+ * events were discarded by the retention policy.
+ */
+public class TaskHistory {
+    private Long taskId;
+    private boolean truncated;
+    private List<TaskHistoryEntry> entries;
+
+    public TaskHistory() {
+    }
+
+    public TaskHistory(Long taskId, boolean truncated, List<TaskHistoryEntry> entries) {
+        this.taskId = taskId;
+        this.truncated = truncated;
+        this.entries = entries;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId;
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public void setTruncated(boolean truncated) {
+        this.truncated = truncated;
+    }
+
+    public List<TaskHistoryEntry> getEntries() {
+        return entries;
+    }
+
+    public void setEntries(List<TaskHistoryEntry> entries) {
+        this.entries = entries;
+    }
+}
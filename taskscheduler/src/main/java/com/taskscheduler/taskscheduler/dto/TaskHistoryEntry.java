@@ -0,0 +1,55 @@
+package com.taskscheduler.taskscheduler.dto;
+
+import com.taskscheduler.taskscheduler.model.HistoryEvent;
+
+import java.time.Instant;
+import java.util.List;
+
+public class TaskHistoryEntry {
+    private Instant timestamp;
+    private HistoryEvent event;
+    private String actor;
+    private List<FieldChange> changes;
+
+    public TaskHistoryEntry() {
+    }
+
+    public TaskHistoryEntry(Instant timestamp, HistoryEvent event, String actor, List<FieldChange> changes) {
+        this.timestamp = timestamp;
+        this.event = event;
+        this.actor = actor;
+        this.changes = changes;
+    }
+
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(Instant timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public HistoryEvent getEvent() {
+        return event;
+    }
+
+    public void setEvent(HistoryEvent event) {
+        this.event = event;
+    }
+
+    public String getActor() {
+        return actor;
+    }
+
+    public void setActor(String actor) {
+        this.actor = actor;
+    }
+
+    public List<FieldChange> getChanges() {
+        return changes;
+    }
+
+    public void setChanges(List<FieldChange> changes) {
+        this.changes = changes;
+    }
+}
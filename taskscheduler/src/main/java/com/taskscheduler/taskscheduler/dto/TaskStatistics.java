@@ -0,0 +1,97 @@
+package com.taskscheduler.taskscheduler.dto;
+
+import com.taskscheduler.taskscheduler.model.Priority;
+import com.taskscheduler.taskscheduler.model.Status;
+
+import java.util.Map;
+
+/**
+ * Aggregate counts over active (non-deleted) tasks. Recurring templates are counted
+ * separately because they have no status of their own.
+ */
+public class TaskStatistics {
+    private long activeTasks;
+    private long recurringTemplates;
+    private Map<Status, Long> byStatus;
+    private Map<Priority, Long> byPriority;
+    private RateStats created;
+    private RateStats completed;
+    private long deleted;
+    private long deadlinesMissed;
+    private LatencyStats timeToComplete;
+
+    public TaskStatistics() {
+    }
+
+    public long getActiveTasks() {
+        return activeTasks;
+    }
+
+    public void setActiveTasks(long activeTasks) {
+        this.activeTasks = activeTasks;
+    }
+
+    public long getRecurringTemplates() {
+        return recurringTemplates;
+    }
+
+    public void setRecurringTemplates(long recurringTemplates) {
+        this.recurringTemplates = recurringTemplates;
+    }
+
+    public Map<Status, Long> getByStatus() {
+        return byStatus;
+    }
+
+    public void setByStatus(Map<Status, Long> byStatus) {
+        this.byStatus = byStatus;
+    }
+
+    public Map<Priority, Long> getByPriority() {
+        return byPriority;
+    }
+
+    public void setByPriority(Map<Priority, Long> byPriority) {
+        this.byPriority = byPriority;
+    }
+
+    public RateStats getCreated() {
+        return created;
+    }
+
+    public void setCreated(RateStats created) {
+        this.created = created;
+    }
+
+    public RateStats getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(RateStats completed) {
+        this.completed = completed;
+    }
+
+    public long getDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(long deleted) {
+        this.deleted = deleted;
+    }
+
+    public long getDeadlinesMissed() {
+        return deadlinesMissed;
+    }
+
+    public void setDeadlinesMissed(long deadlinesMissed) {
+        this.deadlinesMissed = deadlinesMissed;
+    }
+
+    public LatencyStats getTimeToComplete() {
+        return timeToComplete;
+    }
+
+    public void setTimeToComplete(LatencyStats timeToComplete) {
+        this.timeToComplete = timeToComplete;
+    }
+}
@@ -2,9 +2,13 @@ package com.taskscheduler.taskscheduler.dto;
 
 import com.taskscheduler.taskscheduler.model.Priority;
 import com.taskscheduler.taskscheduler.model.Status;
+import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
+import java.time.Instant;
+import java.util.List;
+
 public class UpdateTaskRequest {
     @NotBlank(message = "title is required")
     @Size(max = 100, message = "title must be at most 100 characters")
@@ -16,6 +20,13 @@ public class UpdateTaskRequest {
 
     private Status status; // not allowed; service rejects if set
 
+    private List<Long> dependsOn; // null leaves dependencies unchanged
+
+    @Future(message = "dueAt must be in the future")
+    private Instant dueAt; // null leaves the deadline unchanged
+
+    private boolean clearDueAt; // true removes the deadline; dueAt must then be null
+
     public String getTitle() {
         return title;
     }
@@ -47,4 +58,28 @@ public class UpdateTaskRequest {
     public void setStatus(Status status) {
         this.status = status;
     }
+
+    public List<Long> getDependsOn() {
+        return dependsOn;
+    }
+
+    public void setDependsOn(List<Long> dependsOn) {
+        this.dependsOn = dependsOn;
+    }
+
+    public Instant getDueAt() {
+        return dueAt;
+    }
+
+    public void setDueAt(Instant dueAt) {
+        this.dueAt = dueAt;
+    }
+
+    public boolean isClearDueAt() {
+        return clearDueAt;
+    }
+
+    public void setClearDueAt(boolean clearDueAt) {
+        this.clearDueAt = clearDueAt;
+    }
 }
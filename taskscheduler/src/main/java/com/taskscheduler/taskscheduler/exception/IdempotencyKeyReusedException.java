@@ -0,0 +1,7 @@
+package com.taskscheduler.taskscheduler.exception;
+
+public class IdempotencyKeyReusedException extends RuntimeException {
+    public IdempotencyKeyReusedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.taskscheduler.taskscheduler.exception;
+
+public class TenantQuotaExceededException extends RuntimeException {
+    public TenantQuotaExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,43 @@
+package com.taskscheduler.taskscheduler.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Registered;
+import jdk.jfr.StackTrace;
+
+/**
+ * A single-task repository access. These are very frequent, so the bundled settings only
+ * record the slow ones.
+ */
+@Name("taskscheduler.RepositoryOperation")
+@Label("Repository Operation")
+@Category({"Task Scheduler", "Repository"})
+@Description("A single-task repository read or write")
+@StackTrace(false)
+@Registered(false)
+public class RepositoryOperationEvent extends Event {
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Task Id")
+    private long taskId;
+
+    public static RepositoryOperationEvent start(String operation, Long taskId) {
+        RepositoryOperationEvent event = new RepositoryOperationEvent();
+        event.operation = operation;
+        event.taskId = taskId != null ? taskId : 0;
+        event.begin();
+        return event;
+    }
+
+    public void finish() {
+        end();
+        if (shouldCommit()) {
+            commit();
+        }
+    }
+}
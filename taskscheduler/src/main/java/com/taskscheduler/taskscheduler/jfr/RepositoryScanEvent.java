@@ -0,0 +1,45 @@
+package com.taskscheduler.taskscheduler.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Registered;
+
+/**
+ * A full scan of the store, such as {@code findAllActive}. Records how many tasks were
+ * visited and how many were copied into the result, with the caller's stack trace.
+ */
+@Name("taskscheduler.RepositoryScan")
+@Label("Repository Scan")
+@Category({"Task Scheduler", "Repository"})
+@Description("A scan over every stored task")
+@Registered(false)
+public class RepositoryScanEvent extends Event {
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Tasks Scanned")
+    private int scanned;
+
+    @Label("Tasks Returned")
+    private int returned;
+
+    public static RepositoryScanEvent start(String operation) {
+        RepositoryScanEvent event = new RepositoryScanEvent();
+        event.operation = operation;
+        event.begin();
+        return event;
+    }
+
+    public void finish(int scanned, int returned) {
+        end();
+        if (shouldCommit()) {
+            this.scanned = scanned;
+            this.returned = returned;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.taskscheduler.taskscheduler.jfr;
+
+import com.taskscheduler.taskscheduler.model.Status;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Registered;
+import jdk.jfr.StackTrace;
+
+/**
+ * A task moving between statuses, whether by an API call, a claim, lease expiry or a retry.
+ */
+@Name("taskscheduler.StatusTransition")
+@Label("Task Status Transition")
+@Category({"Task Scheduler", "Service"})
+@Description("A task moving from one status to another")
+@StackTrace(false)
+@Registered(false)
+public class StatusTransitionEvent extends Event {
+
+    @Label("Task Id")
+    private long taskId;
+
+    @Label("From")
+    private String from;
+
+    @Label("To")
+    private String to;
+
+    @Label("Trigger")
+    @Description("api, claim, lease-expired or retry")
+    private String trigger;
+
+    public static void emit(Long taskId, Status from, Status to, String trigger) {
+        StatusTransitionEvent event = new StatusTransitionEvent();
+        if (event.shouldCommit()) {
+            event.taskId = taskId;
+            event.from = from.name();
+            event.to = to.name();
+            event.trigger = trigger;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.taskscheduler.taskscheduler.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Registered;
+import jdk.jfr.StackTrace;
+
+/**
+ * A {@code TaskService} call, timed from entry to successful return.
+ */
+@Name("taskscheduler.TaskOperation")
+@Label("Task Operation")
+@Category({"Task Scheduler", "Service"})
+@Description("A task service call, timed from entry to successful return")
+@StackTrace(false)
+@Registered(false)
+public class TaskOperationEvent extends Event {
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Task Id")
+    private long taskId;
+
+    public static TaskOperationEvent start(String operation) {
+        TaskOperationEvent event = new TaskOperationEvent();
+        event.operation = operation;
+        event.begin();
+        return event;
+    }
+
+    public void finish(Long taskId) {
+        end();
+        if (shouldCommit()) {
+            this.taskId = taskId != null ? taskId : 0;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package com.taskscheduler.taskscheduler.model;
+
+public enum HistoryEvent {
+    CREATED, UPDATED, STATUS_CHANGED, CLAIMED, LEASE_EXPIRED, RETRY_REQUEUED, DELETED
+}
@@ -0,0 +1,37 @@
+package com.taskscheduler.taskscheduler.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * How often a recurring task fires: either a cron expression (evaluated in UTC)
+ * or a fixed rate in milliseconds. Exactly one must be set.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class Recurrence {
+    private String cron;
+    private Long fixedRateMs;
+
+    public Recurrence() {
+    }
+
+    public Recurrence(String cron, Long fixedRateMs) {
+        this.cron = cron;
+        this.fixedRateMs = fixedRateMs;
+    }
+
+    public String getCron() {
+        return cron;
+    }
+
+    public void setCron(String cron) {
+        this.cron = cron;
+    }
+
+    public Long getFixedRateMs() {
+        return fixedRateMs;
+    }
+
+    public void setFixedRateMs(Long fixedRateMs) {
+        this.fixedRateMs = fixedRateMs;
+    }
+}
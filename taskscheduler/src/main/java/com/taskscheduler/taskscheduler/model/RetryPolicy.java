@@ -0,0 +1,45 @@
+package com.taskscheduler.taskscheduler.model;
+
+/**
+ * How a FAILED task is retried: it is re-queued after an exponential backoff (doubling from
+ * {@code initialBackoffMs}, capped at {@code maxBackoffMs}, with full jitter) until it has
+ * failed {@code maxAttempts} times, at which point it is dead-lettered.
+ */
+public class RetryPolicy {
+    private int maxAttempts;
+    private long initialBackoffMs;
+    private long maxBackoffMs;
+
+    public RetryPolicy() {
+    }
+
+    public RetryPolicy(int maxAttempts, long initialBackoffMs, long maxBackoffMs) {
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    public long getInitialBackoffMs() {
+        return initialBackoffMs;
+    }
+
+    public void setInitialBackoffMs(long initialBackoffMs) {
+        this.initialBackoffMs = initialBackoffMs;
+    }
+
+    public long getMaxBackoffMs() {
+        return maxBackoffMs;
+    }
+
+    public void setMaxBackoffMs(long maxBackoffMs) {
+        this.maxBackoffMs = maxBackoffMs;
+    }
+}
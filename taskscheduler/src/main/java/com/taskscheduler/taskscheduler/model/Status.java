@@ -1,5 +1,5 @@
 package com.taskscheduler.taskscheduler.model;
 
 public enum Status {
-    PENDING, IN_PROGRESS, COMPLETED, CANCELLED
+    PENDING, IN_PROGRESS, COMPLETED, CANCELLED, FAILED
 }
@@ -1,9 +1,12 @@
 package com.taskscheduler.taskscheduler.model;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 
 public class Task {
     private Long id;
+    private String tenantId;
     private String title;
     private String description;
     private Priority priority;
@@ -11,6 +14,17 @@ public class Task {
     private boolean deleted;
     private Instant createdAt;
     private Instant updatedAt;
+    private List<Long> dependsOn = new ArrayList<>();
+    private Recurrence recurrence;
+    private Long recurrenceOf;
+    private Instant scheduledAt;
+    private RetryPolicy retryPolicy;
+    private int attempts;
+    private Instant nextRetryAt;
+    private boolean deadLettered;
+    private String leaseOwner;
+    private Instant leaseExpiresAt;
+    private Instant dueAt;
 
     public Task() {
     }
@@ -35,6 +49,14 @@ public class Task {
         this.id = id;
     }
 
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(String tenantId) {
+        this.tenantId = tenantId;
+    }
+
     public String getTitle() {
         return title;
     }
@@ -90,4 +112,92 @@ public class Task {
     public void setUpdatedAt(Instant updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public List<Long> getDependsOn() {
+        return dependsOn;
+    }
+
+    public void setDependsOn(List<Long> dependsOn) {
+        this.dependsOn = dependsOn;
+    }
+
+    public Recurrence getRecurrence() {
+        return recurrence;
+    }
+
+    public void setRecurrence(Recurrence recurrence) {
+        this.recurrence = recurrence;
+    }
+
+    public Long getRecurrenceOf() {
+        return recurrenceOf;
+    }
+
+    public void setRecurrenceOf(Long recurrenceOf) {
+        this.recurrenceOf = recurrenceOf;
+    }
+
+    public Instant getScheduledAt() {
+        return scheduledAt;
+    }
+
+    public void setScheduledAt(Instant scheduledAt) {
+        this.scheduledAt = scheduledAt;
+    }
+
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    public void setRetryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public Instant getNextRetryAt() {
+        return nextRetryAt;
+    }
+
+    public void setNextRetryAt(Instant nextRetryAt) {
+        this.nextRetryAt = nextRetryAt;
+    }
+
+    public boolean isDeadLettered() {
+        return deadLettered;
+    }
+
+    public void setDeadLettered(boolean deadLettered) {
+        this.deadLettered = deadLettered;
+    }
+
+    public String getLeaseOwner() {
+        return leaseOwner;
+    }
+
+    public void setLeaseOwner(String leaseOwner) {
+        this.leaseOwner = leaseOwner;
+    }
+
+    public Instant getLeaseExpiresAt() {
+        return leaseExpiresAt;
+    }
+
+    public void setLeaseExpiresAt(Instant leaseExpiresAt) {
+        this.leaseExpiresAt = leaseExpiresAt;
+    }
+
+    public Instant getDueAt() {
+        return dueAt;
+    }
+
+    public void setDueAt(Instant dueAt) {
+        this.dueAt = dueAt;
+    }
 }
@@ -0,0 +1,52 @@
+package com.taskscheduler.taskscheduler.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Sheds expensive requests while the moving average of observed request latency is above
+ * a target. Cheap requests are never shed, so their fast completions keep pulling the
+ * average back down; if no samples arrive for a second the average is considered stale.
+ */
+public class AdaptiveLoadShedder {
+
+    private static final long STALE_AFTER_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final long targetLatencyNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicLong averageLatencyNanos = new AtomicLong();
+    private final AtomicLong lastSampleAt;
+
+    public AdaptiveLoadShedder(long targetLatencyNanos) {
+        this(targetLatencyNanos, System::nanoTime);
+    }
+
+    AdaptiveLoadShedder(long targetLatencyNanos, LongSupplier nanoClock) {
+        this.targetLatencyNanos = targetLatencyNanos;
+        this.nanoClock = nanoClock;
+        this.lastSampleAt = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    public void recordLatency(long latencyNanos) {
+        // EWMA with alpha = 1/8; concurrent updates may drop a sample, which is harmless here.
+        long average = averageLatencyNanos.get();
+        averageLatencyNanos.set(average + ((latencyNanos - average) >> 3));
+        lastSampleAt.set(nanoClock.getAsLong());
+    }
+
+    public boolean shouldShed(RateLimitTier tier) {
+        if (tier != RateLimitTier.EXPENSIVE) {
+            return false;
+        }
+        if (nanoClock.getAsLong() - lastSampleAt.get() > STALE_AFTER_NANOS) {
+            averageLatencyNanos.set(0);
+            return false;
+        }
+        return averageLatencyNanos.get() > targetLatencyNanos;
+    }
+
+    public long averageLatencyNanos() {
+        return averageLatencyNanos.get();
+    }
+}
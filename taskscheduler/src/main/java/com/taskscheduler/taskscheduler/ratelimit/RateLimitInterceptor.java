@@ -0,0 +1,139 @@
+package com.taskscheduler.taskscheduler.ratelimit;
+
+import com.taskscheduler.taskscheduler.tenant.Tenants;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control in front of the task endpoints: latency-driven shedding of expensive
+ * requests, per-client token buckets per tier, per-tenant token buckets per tier shared by all of
+ * a tenant's clients, then an optional cap on each tenant's requests in flight. Permits taken by
+ * earlier checks are refunded when a later one rejects the request. A request
+ * gives back its in-flight slot when it completes or, for a long poll, once it releases its
+ * servlet thread. Clients are identified by their remote address rather than a
+ * header they could rotate to get a fresh bucket; behind a proxy, configure
+ * {@code server.forward-headers-strategy} so the address is the original client's. Client buckets
+ * are keyed within the tenant, so two tenants' requests from one address do not share a bucket.
+ * Rejections are written here, without an exception or message converter, so turning away a
+ * flood costs far less than serving it.
+ */
+public class RateLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String START_ATTRIBUTE = RateLimitInterceptor.class.getName() + ".start";
+    private static final String TENANT_SLOT_ATTRIBUTE = RateLimitInterceptor.class.getName() + ".tenantSlot";
+
+    private final Map<RateLimitTier, TokenBucketRateLimiter> limiters;
+    private final Map<RateLimitTier, TokenBucketRateLimiter> tenantLimiters;
+    private final AdaptiveLoadShedder loadShedder;
+    private final TenantConcurrencyLimiter concurrencyLimiter;
+
+    public RateLimitInterceptor(Map<RateLimitTier, TokenBucketRateLimiter> limiters,
+                                Map<RateLimitTier, TokenBucketRateLimiter> tenantLimiters,
+                                AdaptiveLoadShedder loadShedder,
+                                TenantConcurrencyLimiter concurrencyLimiter) {
+        this.limiters = new EnumMap<>(limiters);
+        this.tenantLimiters = new EnumMap<>(tenantLimiters);
+        this.loadShedder = loadShedder;
+        this.concurrencyLimiter = concurrencyLimiter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        // An async dispatch delivers the result of a request that was already admitted.
+        if (!(handler instanceof HandlerMethod handlerMethod) || request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        RateLimitTier tier = tierOf(handlerMethod);
+        String tenantId = Tenants.resolve(request.getHeader(Tenants.HEADER));
+        if (loadShedder.shouldShed(tier)) {
+            return reject(response, HttpStatus.SERVICE_UNAVAILABLE, "Server is overloaded; retry after 1s", 1);
+        }
+
+        String clientKey = tenantId + "/" + request.getRemoteAddr();
+        long waitNanos = limiters.get(tier).tryAcquire(clientKey);
+        if (waitNanos > 0) {
+            long retryAfter = toRetryAfterSeconds(waitNanos);
+            return reject(response, HttpStatus.TOO_MANY_REQUESTS, "Rate limit exceeded for " + tier.name().toLowerCase()
+                    + " requests; retry after " + retryAfter + "s", retryAfter);
+        }
+        waitNanos = tenantLimiters.get(tier).tryAcquire(tenantId);
+        if (waitNanos > 0) {
+            limiters.get(tier).refund(clientKey);
+            long retryAfter = toRetryAfterSeconds(waitNanos);
+            return reject(response, HttpStatus.TOO_MANY_REQUESTS, "Rate limit exceeded for " + tier.name().toLowerCase()
+                    + " requests of tenant " + tenantId + "; retry after " + retryAfter + "s", retryAfter);
+        }
+        if (concurrencyLimiter.isEnabled()) {
+            TenantConcurrencyLimiter.Slots slots = concurrencyLimiter.tryAcquire(tenantId);
+            if (slots == null) {
+                limiters.get(tier).refund(clientKey);
+                tenantLimiters.get(tier).refund(tenantId);
+                return reject(response, HttpStatus.TOO_MANY_REQUESTS, "Too many concurrent requests for tenant "
+                        + tenantId + "; retry after 1s", 1);
+            }
+            request.setAttribute(TENANT_SLOT_ATTRIBUTE, slots);
+        }
+        RateLimited annotation = handlerMethod.getMethodAnnotation(RateLimited.class);
+        if (annotation == null || annotation.sampleLatency()) {
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        releaseTenantSlot(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        releaseTenantSlot(request);
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (start instanceof Long startNanos) {
+            loadShedder.recordLatency(System.nanoTime() - startNanos);
+        }
+    }
+
+    private void releaseTenantSlot(HttpServletRequest request) {
+        if (request.getAttribute(TENANT_SLOT_ATTRIBUTE) instanceof TenantConcurrencyLimiter.Slots slots) {
+            request.removeAttribute(TENANT_SLOT_ATTRIBUTE);
+            concurrencyLimiter.release(slots);
+        }
+    }
+
+    private static RateLimitTier tierOf(HandlerMethod handlerMethod) {
+        RateLimited annotation = handlerMethod.getMethodAnnotation(RateLimited.class);
+        return annotation != null ? annotation.value() : RateLimitTier.CHEAP;
+    }
+
+    // Tenant ids and messages are plain ASCII without quotes or backslashes, so no escaping is needed.
+    private static boolean reject(HttpServletResponse response, HttpStatus status, String message,
+                                  long retryAfterSeconds) throws IOException {
+        String code = status == HttpStatus.TOO_MANY_REQUESTS ? "TOO_MANY_REQUESTS" : "SERVICE_UNAVAILABLE";
+        byte[] body = ("{\"error\":\"" + code + "\",\"message\":\"" + message + "\"}")
+                .getBytes(StandardCharsets.US_ASCII);
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+        return false;
+    }
+
+    private static long toRetryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+}
@@ -0,0 +1,5 @@
+package com.taskscheduler.taskscheduler.ratelimit;
+
+public enum RateLimitTier {
+    CHEAP, EXPENSIVE
+}
@@ -0,0 +1,20 @@
+package com.taskscheduler.taskscheduler.ratelimit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Selects the rate-limit budget a handler method draws from.
+ * Handlers without the annotation use {@link RateLimitTier#CHEAP}.
+ * Long-polling handlers set {@code sampleLatency = false} so that their intentional waits do
+ * not read as overload to the load shedder.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimited {
+    RateLimitTier value();
+
+    boolean sampleLatency() default true;
+}
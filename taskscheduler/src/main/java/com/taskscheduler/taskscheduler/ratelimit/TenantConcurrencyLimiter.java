@@ -0,0 +1,75 @@
+package com.taskscheduler.taskscheduler.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps how many requests of one tenant execute at once, so a tenant with a large connection
+ * pool cannot crowd the others out of the request threads. Each tenant has one counter, taken
+ * and given back with a CAS; a counter that drops to zero is retired and removed, so the map
+ * only holds tenants with requests in flight. A limit of 0 disables the cap.
+ */
+public class TenantConcurrencyLimiter {
+
+    private static final int RETIRED = -1;
+
+    private final int maxConcurrent;
+    private final Map<String, Slots> inFlight = new ConcurrentHashMap<>();
+
+    public TenantConcurrencyLimiter(int maxConcurrent) {
+        if (maxConcurrent < 0) {
+            throw new IllegalArgumentException("maxConcurrent must not be negative");
+        }
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    public boolean isEnabled() {
+        return maxConcurrent > 0;
+    }
+
+    /**
+     * Takes a slot for a request of {@code tenantId}; each non-null result must be handed back
+     * once to {@link #release(Slots)}.
+     *
+     * @return the tenant's slots, or null if the tenant is at its limit
+     */
+    public Slots tryAcquire(String tenantId) {
+        while (true) {
+            Slots slots = inFlight.get(tenantId);
+            if (slots == null) {
+                slots = inFlight.computeIfAbsent(tenantId, Slots::new);
+            }
+            int current;
+            while ((current = slots.count.get()) != RETIRED) {
+                if (current >= maxConcurrent) {
+                    return null;
+                }
+                if (slots.count.compareAndSet(current, current + 1)) {
+                    return slots;
+                }
+            }
+            // Retired by a concurrent release; it is being removed, so look again.
+        }
+    }
+
+    public void release(Slots slots) {
+        if (slots.count.decrementAndGet() == 0 && slots.count.compareAndSet(0, RETIRED)) {
+            inFlight.remove(slots.tenantId, slots);
+        }
+    }
+
+    int inFlight(String tenantId) {
+        Slots slots = inFlight.get(tenantId);
+        return slots != null ? Math.max(0, slots.count.get()) : 0;
+    }
+
+    public static final class Slots {
+        private final String tenantId;
+        private final AtomicInteger count = new AtomicInteger();
+
+        private Slots(String tenantId) {
+            this.tenantId = tenantId;
+        }
+    }
+}
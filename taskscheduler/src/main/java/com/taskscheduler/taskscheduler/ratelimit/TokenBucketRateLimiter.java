@@ -0,0 +1,138 @@
+package com.taskscheduler.taskscheduler.ratelimit;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-client token bucket implemented as GCRA: each client's whole bucket state is a single
+ * "theoretical arrival time", so acquiring a permit is one CAS with no locks or allocation
+ * once the client's entry exists. At most {@code maxClients} buckets are kept: once the table is
+ * full a new client takes the slot of an idle one, found by a bounded probe of the oldest
+ * entries, or is rejected if none of them is idle.
+ */
+public class TokenBucketRateLimiter {
+
+    static final int EVICTION_PROBES = 8;
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final int maxClients;
+    private final LongSupplier nanoClock;
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final Queue<String> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    public TokenBucketRateLimiter(double permitsPerSecond, int burst, int maxClients) {
+        this(permitsPerSecond, burst, maxClients, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(double permitsPerSecond, int burst, int maxClients, LongSupplier nanoClock) {
+        if (permitsPerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond and burst must be positive");
+        }
+        this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * burst;
+        this.maxClients = maxClients;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Takes one permit for {@code clientKey}.
+     *
+     * @return 0 if the permit was granted, otherwise the nanoseconds until one becomes available
+     */
+    public long tryAcquire(String clientKey) {
+        long now = nanoClock.getAsLong();
+        AtomicLong bucket = buckets.get(clientKey);
+        if (bucket == null) {
+            bucket = register(clientKey, now);
+            if (bucket == null) {
+                // Every slot holds a client that is still draining; a new one waits like a drained one.
+                return emissionIntervalNanos;
+            }
+        }
+        while (true) {
+            long tat = bucket.get();
+            long newTat = Math.max(tat, now) + emissionIntervalNanos;
+            long wait = newTat - now - burstToleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(tat, newTat)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Gives back a permit granted by {@link #tryAcquire(String)} to a request that was turned
+     * away by a later check. A bucket can never hold more than its burst.
+     */
+    public void refund(String clientKey) {
+        AtomicLong bucket = buckets.get(clientKey);
+        if (bucket != null) {
+            bucket.addAndGet(-emissionIntervalNanos);
+        }
+    }
+
+    int trackedClients() {
+        return size.get();
+    }
+
+    /**
+     * Adds a bucket for a new client, or returns null if the table is full and no idle bucket
+     * could be evicted. The slot is reserved before the bucket is inserted, so concurrent
+     * newcomers can never push the table past {@code maxClients}.
+     */
+    private AtomicLong register(String clientKey, long now) {
+        while (true) {
+            int tracked = size.get();
+            if (tracked >= maxClients) {
+                if (!evictOne(now)) {
+                    return null;
+                }
+            } else if (size.compareAndSet(tracked, tracked + 1)) {
+                break;
+            }
+        }
+        AtomicLong created = new AtomicLong(now);
+        AtomicLong existing = buckets.putIfAbsent(clientKey, created);
+        if (existing != null) {
+            size.decrementAndGet();
+            return existing;
+        }
+        insertionOrder.add(clientKey);
+        return created;
+    }
+
+    /**
+     * Removes one idle bucket, looking at no more than {@link #EVICTION_PROBES} of the oldest
+     * clients; busy ones go back to the tail. A bucket whose arrival time has passed is full again
+     * and identical to a fresh one, so evicting it loses nothing. A thread that read the bucket
+     * just before it was removed may spend one permit on the detached copy.
+     */
+    private boolean evictOne(long now) {
+        for (int probe = 0; probe < EVICTION_PROBES; probe++) {
+            String key = insertionOrder.poll();
+            if (key == null) {
+                return false;
+            }
+            AtomicLong bucket = buckets.get(key);
+            if (bucket == null) {
+                continue;
+            }
+            if (bucket.get() - now <= 0 && buckets.remove(key, bucket)) {
+                size.decrementAndGet();
+                return true;
+            }
+            insertionOrder.add(key);
+        }
+        return false;
+    }
+}
@@ -1,5 +1,7 @@
 package com.taskscheduler.taskscheduler.repository;
 
+import com.taskscheduler.taskscheduler.jfr.RepositoryOperationEvent;
+import com.taskscheduler.taskscheduler.jfr.RepositoryScanEvent;
 import com.taskscheduler.taskscheduler.model.Task;
 import org.springframework.stereotype.Repository;
 
@@ -10,37 +12,73 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
+/**
+ * One map per tenant, so listing a tenant scans only its own tasks and a large tenant does
+ * not slow down lookups or scans for a small one. Ids come from a single generator so the
+ * id-keyed indexes in the service layer stay unambiguous. Unscoped lookups go through a
+ * routing map from id to partition, which holds one entry for every task ever saved, deleted
+ * ones included, since soft-deleted tasks stay in their partition too.
+ */
 @Repository
 public class InMemoryTaskRepository implements TaskRepository {
 
-    private final Map<Long, Task> store = new ConcurrentHashMap<>();
+    private final Map<String, Map<Long, Task>> partitions = new ConcurrentHashMap<>();
+    private final Map<Long, Map<Long, Task>> routes = new ConcurrentHashMap<>();
     private final AtomicLong idGenerator = new AtomicLong(1);
 
     @Override
     public Task save(Task task) {
+        RepositoryOperationEvent event = RepositoryOperationEvent.start("save", task.getId());
         if (task.getId() == null) {
             task.setId(idGenerator.getAndIncrement());
         }
-        store.put(task.getId(), task);
+        Map<Long, Task> partition = partitions.computeIfAbsent(task.getTenantId(), t -> new ConcurrentHashMap<>());
+        partition.put(task.getId(), task);
+        routes.putIfAbsent(task.getId(), partition);
+        event.finish();
         return task;
     }
 
     @Override
     public Optional<Task> findById(Long id) {
-        return Optional.ofNullable(store.get(id));
+        RepositoryOperationEvent event = RepositoryOperationEvent.start("findById", id);
+        Map<Long, Task> partition = routes.get(id);
+        Optional<Task> task = Optional.ofNullable(partition != null ? partition.get(id) : null);
+        event.finish();
+        return task;
     }
 
     @Override
-    public List<Task> findAllActive() {
-        return store.values().stream()
+    public Optional<Task> findById(String tenantId, Long id) {
+        RepositoryOperationEvent event = RepositoryOperationEvent.start("findById", id);
+        Optional<Task> task = Optional.ofNullable(partition(tenantId).get(id));
+        event.finish();
+        return task;
+    }
+
+    @Override
+    public List<Task> findAllActive(String tenantId) {
+        RepositoryScanEvent event = RepositoryScanEvent.start("findAllActive");
+        Map<Long, Task> partition = partition(tenantId);
+        int scanned = partition.size();
+        List<Task> active = partition.values().stream()
                 .filter(t -> !t.isDeleted())
                 .collect(Collectors.toList());
+        event.finish(scanned, active.size());
+        return active;
     }
 
     @Override
-    public boolean existsByIdAndNotDeleted(Long id) {
-        return Optional.ofNullable(store.get(id))
+    public boolean existsByIdAndNotDeleted(String tenantId, Long id) {
+        RepositoryOperationEvent event = RepositoryOperationEvent.start("existsByIdAndNotDeleted", id);
+        boolean exists = Optional.ofNullable(partition(tenantId).get(id))
                 .map(t -> !t.isDeleted())
                 .orElse(false);
+        event.finish();
+        return exists;
+    }
+
+    private Map<Long, Task> partition(String tenantId) {
+        return partitions.getOrDefault(tenantId, Map.of());
     }
 }
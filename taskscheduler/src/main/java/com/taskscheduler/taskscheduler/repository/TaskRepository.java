@@ -5,9 +5,15 @@ import com.taskscheduler.taskscheduler.model.Task;
 import java.util.List;
 import java.util.Optional;
 
+/**
+ * Tasks partitioned by tenant. Ids are unique across tenants; the tenant-scoped lookups treat
+ * another tenant's task as absent. The unscoped {@link #findById(Long)} is for background
+ * work (lease expiry, retries, recurrences) that already holds an id it was handed earlier.
+ */
 public interface TaskRepository {
     Task save(Task task);
     Optional<Task> findById(Long id);
-    List<Task> findAllActive();
-    boolean existsByIdAndNotDeleted(Long id);
+    Optional<Task> findById(String tenantId, Long id);
+    List<Task> findAllActive(String tenantId);
+    boolean existsByIdAndNotDeleted(String tenantId, Long id);
 }
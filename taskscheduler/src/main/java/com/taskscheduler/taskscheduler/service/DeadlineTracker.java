@@ -0,0 +1,104 @@
+package com.taskscheduler.taskscheduler.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Due dates of unfinished tasks, ordered by deadline within each tenant. Listing a tenant's
+ * overdue tasks walks only the overdue prefix of its index, and a task leaving the tracker on
+ * completion is an O(log n) removal. A second index per tenant holds deadlines that have not
+ * been reported yet, so the timer-driven watcher reports each breach once, at most
+ * {@link #REPORT_BATCH} per tenant per pass.
+ */
+@Component
+public class DeadlineTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(DeadlineTracker.class);
+    static final int REPORT_BATCH = 1000;
+
+    private final ScheduledExecutorService taskTimer;
+    private final long checkIntervalMs;
+    private final Map<String, ExpiryIndex> deadlines = new ConcurrentHashMap<>();
+    private final Map<String, ExpiryIndex> unreported = new ConcurrentHashMap<>();
+    private ScheduledFuture<?> watcher;
+
+    public DeadlineTracker(ScheduledExecutorService taskTimer,
+                           @Value("${taskscheduler.deadline.check-interval:1s}") Duration checkInterval) {
+        this.taskTimer = taskTimer;
+        this.checkIntervalMs = checkInterval.toMillis();
+    }
+
+    /**
+     * Starts or moves the deadline of a task. A moved deadline is reported again when it passes.
+     */
+    public void track(String tenantId, Long taskId, long dueAtMillis) {
+        deadlines.computeIfAbsent(tenantId, t -> new ExpiryIndex()).put(taskId, dueAtMillis);
+        unreported.computeIfAbsent(tenantId, t -> new ExpiryIndex()).put(taskId, dueAtMillis);
+    }
+
+    public void untrack(String tenantId, Long taskId) {
+        ExpiryIndex index = deadlines.get(tenantId);
+        if (index != null) {
+            index.remove(taskId);
+        }
+        ExpiryIndex pending = unreported.get(tenantId);
+        if (pending != null) {
+            pending.remove(taskId);
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} ids of the tenant's tracked tasks due at or before
+     * {@code nowMillis}, most overdue first.
+     */
+    public List<Long> overdue(String tenantId, long nowMillis, int limit) {
+        ExpiryIndex index = deadlines.get(tenantId);
+        return index != null ? index.expired(nowMillis, limit) : List.of();
+    }
+
+    public int trackedCount() {
+        int count = 0;
+        for (ExpiryIndex index : deadlines.values()) {
+            count += index.size();
+        }
+        return count;
+    }
+
+    public synchronized void startWatcher(Consumer<Long> onOverdue) {
+        if (watcher != null) {
+            return;
+        }
+        watcher = taskTimer.scheduleWithFixedDelay(() -> {
+            long now = System.currentTimeMillis();
+            for (ExpiryIndex pending : unreported.values()) {
+                for (Long taskId : pending.pollExpired(now, REPORT_BATCH)) {
+                    try {
+                        onOverdue.accept(taskId);
+                    } catch (RuntimeException ex) {
+                        log.warn("Failed to report overdue task {}", taskId, ex);
+                    }
+                }
+            }
+        }, checkIntervalMs, checkIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public synchronized void stopWatcher() {
+        if (watcher != null) {
+            watcher.cancel(false);
+            watcher = null;
+        }
+    }
+}
@@ -0,0 +1,412 @@
+package com.taskscheduler.taskscheduler.service;
+
+import com.taskscheduler.taskscheduler.exception.BadRequestException;
+import com.taskscheduler.taskscheduler.model.Task;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Dependency edges between tasks, stored as primitive {@code long} arrays in both directions,
+ * with a per-task count of dependencies that have not COMPLETED yet. A cancelled or deleted
+ * dependency never completes, so its dependents stay blocked until their dependencies are
+ * replaced. Edge changes are serialised by one lock per tenant; completing a task takes none.
+ */
+@Component
+public class DependencyGraph {
+
+    private static final long[] NO_EDGES = new long[0];
+
+    private final Map<Long, Node> nodes = new ConcurrentHashMap<>();
+    private final Map<String, ReentrantLock> edgeLocks = new ConcurrentHashMap<>();
+
+    /**
+     * Registers a task of {@code tenantId} that already has an id. A new task has no dependents
+     * yet, so its edges cannot close a cycle.
+     *
+     * @throws BadRequestException if a dependency is unknown, deleted or cancelled
+     */
+    public void addTask(String tenantId, Long taskId, Collection<Long> dependsOn) {
+        ReentrantLock edgeLock = edgeLock(tenantId);
+        edgeLock.lock();
+        try {
+            linkAll(node(taskId), liveDependencies(dependsOn));
+        } finally {
+            edgeLock.unlock();
+        }
+    }
+
+    /**
+     * Inserts a new task of {@code tenantId} with {@code insert} and registers it, checking its
+     * dependencies under the tenant's edge lock so none can be deleted or cancelled in between.
+     * Nothing is inserted if the check fails.
+     *
+     * @throws BadRequestException if a dependency is unknown, deleted or cancelled
+     */
+    public Task addTask(String tenantId, Collection<Long> dependsOn, Supplier<Task> insert) {
+        ReentrantLock edgeLock = edgeLock(tenantId);
+        edgeLock.lock();
+        try {
+            List<Node> dependencies = liveDependencies(dependsOn);
+            Task saved = insert.get();
+            linkAll(node(saved.getId()), dependencies);
+            return saved;
+        } finally {
+            edgeLock.unlock();
+        }
+    }
+
+    /**
+     * Replaces the dependencies of an existing task.
+     *
+     * @throws BadRequestException if a dependency is unknown, deleted or cancelled, or if any
+     *                             new edge would create a cycle
+     */
+    public void replaceDependencies(String tenantId, Long taskId, Collection<Long> dependsOn) {
+        long[] requested = sortedDistinct(dependsOn);
+        ReentrantLock edgeLock = edgeLock(tenantId);
+        edgeLock.lock();
+        try {
+            Node node = node(taskId);
+            List<Node> dependencies = liveDependencies(dependsOn);
+            for (long dependencyId : requested) {
+                if (!contains(node.dependencies, dependencyId) && reaches(dependencyId, taskId)) {
+                    throw new BadRequestException(
+                            "Dependency on task " + dependencyId + " would create a cycle");
+                }
+            }
+            for (long dependencyId : node.dependencies.clone()) {
+                if (!contains(requested, dependencyId)) {
+                    Node dependency = nodes.get(dependencyId);
+                    unlink(node, dependency);
+                    forgetIfRemoved(dependency);
+                }
+            }
+            linkAll(node, dependencies);
+        } finally {
+            edgeLock.unlock();
+        }
+    }
+
+    /**
+     * Marks a task COMPLETED and returns the dependents that have no unresolved
+     * dependencies left.
+     */
+    public List<Long> markCompleted(Long taskId) {
+        Node node = nodes.get(taskId);
+        return node != null ? resolve(node) : List.of();
+    }
+
+    /**
+     * Marks a task CANCELLED. Its dependents keep waiting on it, and no new task may depend
+     * on it.
+     */
+    public void markCancelled(String tenantId, Long taskId) {
+        ReentrantLock edgeLock = edgeLock(tenantId);
+        edgeLock.lock();
+        try {
+            Node node = nodes.get(taskId);
+            if (node != null) {
+                node.cancelled = true;
+            }
+        } finally {
+            edgeLock.unlock();
+        }
+    }
+
+    /**
+     * Removes a deleted task. Dependents that were still waiting on it keep waiting, so its
+     * node stays behind until they drop the edge.
+     */
+    public void remove(String tenantId, Long taskId) {
+        ReentrantLock edgeLock = edgeLock(tenantId);
+        edgeLock.lock();
+        try {
+            Node node = nodes.get(taskId);
+            if (node == null || node.removed) {
+                return;
+            }
+            for (long dependencyId : node.dependencies) {
+                Node dependency = nodes.get(dependencyId);
+                if (dependency != null) {
+                    synchronized (dependency) {
+                        dependency.removeDependent(node.id);
+                    }
+                    forgetIfRemoved(dependency);
+                }
+            }
+            node.dependencies = NO_EDGES;
+            node.removed = true;
+            boolean completed;
+            long[] dependents;
+            synchronized (node) {
+                completed = node.resolved;
+                dependents = node.dependentsSnapshot();
+            }
+            if (completed) {
+                for (long dependentId : dependents) {
+                    Node dependent = nodes.get(dependentId);
+                    dependent.dependencies = without(dependent.dependencies, node.id);
+                }
+                nodes.remove(taskId);
+            } else {
+                forgetIfRemoved(node);
+            }
+        } finally {
+            edgeLock.unlock();
+        }
+    }
+
+    public int unresolvedCount(Long taskId) {
+        Node node = nodes.get(taskId);
+        return node != null ? node.unresolved : 0;
+    }
+
+    int edgeCount() {
+        long edges = 0;
+        for (Node node : nodes.values()) {
+            edges += node.dependencies.length;
+        }
+        return Math.toIntExact(edges);
+    }
+
+    private List<Long> resolve(Node node) {
+        long[] dependents;
+        synchronized (node) {
+            if (node.resolved) {
+                return List.of();
+            }
+            node.resolved = true;
+            dependents = node.dependentsSnapshot();
+        }
+        List<Long> ready = new ArrayList<>();
+        for (long dependentId : dependents) {
+            Node dependent = nodes.get(dependentId);
+            if (dependent != null && Node.UNRESOLVED.decrementAndGet(dependent) == 0) {
+                ready.add(dependentId);
+            }
+        }
+        return ready;
+    }
+
+    // Iterative DFS along forward edges; recursion would overflow on long dependency chains.
+    // Runs under the tenant's edge lock, and every edge it can reach belongs to that tenant, so
+    // forward edges cannot change while it walks them.
+    private boolean reaches(long fromId, long targetId) {
+        if (fromId == targetId) {
+            return true;
+        }
+        LongSet visited = new LongSet();
+        long[] stack = new long[16];
+        int depth = 0;
+        stack[depth++] = fromId;
+        while (depth > 0) {
+            Node current = nodes.get(stack[--depth]);
+            if (current == null) {
+                continue;
+            }
+            for (long next : current.dependencies) {
+                if (next == targetId) {
+                    return true;
+                }
+                if (visited.add(next)) {
+                    if (depth == stack.length) {
+                        stack = Arrays.copyOf(stack, depth * 2);
+                    }
+                    stack[depth++] = next;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void link(Node node, Node dependency) {
+        if (contains(node.dependencies, dependency.id)) {
+            return;
+        }
+        node.dependencies = with(node.dependencies, dependency.id);
+        // Checking resolved and publishing the edge under the dependency's monitor means a
+        // concurrent resolve() either sees this dependent or is seen here, never neither.
+        synchronized (dependency) {
+            dependency.addDependent(node.id);
+            if (!dependency.resolved) {
+                Node.UNRESOLVED.incrementAndGet(node);
+            }
+        }
+    }
+
+    private void unlink(Node node, Node dependency) {
+        node.dependencies = without(node.dependencies, dependency.id);
+        synchronized (dependency) {
+            dependency.removeDependent(node.id);
+            if (!dependency.resolved) {
+                Node.UNRESOLVED.decrementAndGet(node);
+            }
+        }
+    }
+
+    private void linkAll(Node node, List<Node> dependencies) {
+        for (Node dependency : dependencies) {
+            link(node, dependency);
+        }
+    }
+
+    // Runs under the tenant's edge lock, which also guards the cancelled and removed flags.
+    private List<Node> liveDependencies(Collection<Long> dependsOn) {
+        List<Node> dependencies = new ArrayList<>(dependsOn.size());
+        for (Long dependencyId : dependsOn) {
+            Node dependency = dependencyId != null ? nodes.get(dependencyId) : null;
+            if (dependency == null || dependency.removed) {
+                throw new BadRequestException("Dependency task not found: " + dependencyId);
+            }
+            if (dependency.cancelled) {
+                throw new BadRequestException("Dependency task " + dependencyId + " is cancelled");
+            }
+            dependencies.add(dependency);
+        }
+        return dependencies;
+    }
+
+    private void forgetIfRemoved(Node node) {
+        if (node.removed && node.dependentsSnapshot().length == 0) {
+            nodes.remove(node.id, node);
+        }
+    }
+
+    private ReentrantLock edgeLock(String tenantId) {
+        return edgeLocks.computeIfAbsent(tenantId, t -> new ReentrantLock());
+    }
+
+    private Node node(Long taskId) {
+        return nodes.computeIfAbsent(taskId, Node::new);
+    }
+
+    private static long[] sortedDistinct(Collection<Long> ids) {
+        long[] sorted = ids.stream().mapToLong(Long::longValue).sorted().distinct().toArray();
+        return sorted.length == 0 ? NO_EDGES : sorted;
+    }
+
+    private static boolean contains(long[] sorted, long id) {
+        return Arrays.binarySearch(sorted, id) >= 0;
+    }
+
+    // Forward edges are kept sorted and copied on write; they only change under an edge lock.
+    private static long[] with(long[] sorted, long id) {
+        int insertAt = -(Arrays.binarySearch(sorted, id) + 1);
+        long[] grown = new long[sorted.length + 1];
+        System.arraycopy(sorted, 0, grown, 0, insertAt);
+        grown[insertAt] = id;
+        System.arraycopy(sorted, insertAt, grown, insertAt + 1, sorted.length - insertAt);
+        return grown;
+    }
+
+    private static long[] without(long[] sorted, long id) {
+        int index = Arrays.binarySearch(sorted, id);
+        if (index < 0) {
+            return sorted;
+        }
+        if (sorted.length == 1) {
+            return NO_EDGES;
+        }
+        long[] shrunk = new long[sorted.length - 1];
+        System.arraycopy(sorted, 0, shrunk, 0, index);
+        System.arraycopy(sorted, index + 1, shrunk, index, sorted.length - index - 1);
+        return shrunk;
+    }
+
+    private static final class Node {
+        private static final AtomicIntegerFieldUpdater<Node> UNRESOLVED =
+                AtomicIntegerFieldUpdater.newUpdater(Node.class, "unresolved");
+
+        private final long id;
+        // Guarded by the edge lock of the task's tenant.
+        private long[] dependencies = NO_EDGES;
+        // Guarded by this node's monitor; unordered, removal swaps in the last element.
+        private long[] dependents = NO_EDGES;
+        private int dependentCount;
+        private boolean resolved;
+        // Guarded by the edge lock of the task's tenant.
+        private boolean cancelled;
+        private boolean removed;
+        private volatile int unresolved;
+
+        private Node(Long id) {
+            this.id = id;
+        }
+
+        private void addDependent(long dependentId) {
+            if (dependentCount == dependents.length) {
+                dependents = Arrays.copyOf(dependents, Math.max(4, dependentCount * 2));
+            }
+            dependents[dependentCount++] = dependentId;
+        }
+
+        private void removeDependent(long dependentId) {
+            for (int i = 0; i < dependentCount; i++) {
+                if (dependents[i] == dependentId) {
+                    dependents[i] = dependents[--dependentCount];
+                    return;
+                }
+            }
+        }
+
+        private synchronized long[] dependentsSnapshot() {
+            return Arrays.copyOf(dependents, dependentCount);
+        }
+    }
+
+    /** Open-addressing set of task ids for the cycle check, so visiting a node boxes nothing. */
+    private static final class LongSet {
+        private static final long EMPTY = Long.MIN_VALUE;
+
+        private long[] table = newTable(64);
+        private int size;
+
+        private boolean add(long id) {
+            if ((size + 1) * 2 > table.length) {
+                rehash();
+            }
+            int mask = table.length - 1;
+            int slot = mix(id) & mask;
+            while (table[slot] != EMPTY) {
+                if (table[slot] == id) {
+                    return false;
+                }
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = id;
+            size++;
+            return true;
+        }
+
+        private void rehash() {
+            long[] old = table;
+            table = newTable(old.length * 2);
+            size = 0;
+            for (long id : old) {
+                if (id != EMPTY) {
+                    add(id);
+                }
+            }
+        }
+
+        private static long[] newTable(int capacity) {
+            long[] table = new long[capacity];
+            Arrays.fill(table, EMPTY);
+            return table;
+        }
+
+        private static int mix(long id) {
+            long h = id * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
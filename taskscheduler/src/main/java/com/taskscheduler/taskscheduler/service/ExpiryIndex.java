@@ -0,0 +1,116 @@
+package com.taskscheduler.taskscheduler.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Task ids ordered by an expiry time. Finding what has expired costs O(k) in the number of
+ * expired entries rather than a scan of every task, and moving or removing an entry is
+ * O(log n).
+ */
+public class ExpiryIndex {
+
+    private final NavigableSet<Entry> ordered = new ConcurrentSkipListSet<>();
+    private final Map<Long, Long> expiries = new ConcurrentHashMap<>();
+
+    public void put(Long taskId, long expiresAtMillis) {
+        expiries.compute(taskId, (id, previous) -> {
+            if (previous != null) {
+                ordered.remove(new Entry(previous, id));
+            }
+            ordered.add(new Entry(expiresAtMillis, id));
+            return expiresAtMillis;
+        });
+    }
+
+    public void remove(Long taskId) {
+        expiries.computeIfPresent(taskId, (id, previous) -> {
+            ordered.remove(new Entry(previous, id));
+            return null;
+        });
+    }
+
+    /**
+     * Returns the ids whose expiry is at or before {@code nowMillis}, earliest first,
+     * without removing them.
+     */
+    public List<Long> expired(long nowMillis) {
+        return expired(nowMillis, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns at most {@code limit} of the ids whose expiry is at or before {@code nowMillis},
+     * earliest first, without removing them.
+     */
+    public List<Long> expired(long nowMillis, int limit) {
+        List<Long> ids = new ArrayList<>();
+        for (Entry entry : ordered.headSet(new Entry(nowMillis, Long.MAX_VALUE), true)) {
+            if (ids.size() == limit) {
+                break;
+            }
+            ids.add(entry.taskId);
+        }
+        return ids;
+    }
+
+    /**
+     * Removes and returns the ids whose expiry is at or before {@code nowMillis}. An entry
+     * moved concurrently by {@link #put} is left in place.
+     */
+    public List<Long> pollExpired(long nowMillis) {
+        return pollExpired(nowMillis, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Removes and returns at most {@code limit} of the ids whose expiry is at or before
+     * {@code nowMillis}, earliest first.
+     */
+    public List<Long> pollExpired(long nowMillis, int limit) {
+        List<Long> ids = new ArrayList<>();
+        for (Entry entry : ordered.headSet(new Entry(nowMillis, Long.MAX_VALUE), true)) {
+            if (ids.size() == limit) {
+                break;
+            }
+            if (expiries.remove(entry.taskId, entry.expiresAtMillis)) {
+                ordered.remove(entry);
+                ids.add(entry.taskId);
+            }
+        }
+        return ids;
+    }
+
+    public int size() {
+        return expiries.size();
+    }
+
+    private static final class Entry implements Comparable<Entry> {
+        private final long expiresAtMillis;
+        private final long taskId;
+
+        private Entry(long expiresAtMillis, long taskId) {
+            this.expiresAtMillis = expiresAtMillis;
+            this.taskId = taskId;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            int byTime = Long.compare(expiresAtMillis, other.expiresAtMillis);
+            return byTime != 0 ? byTime : Long.compare(taskId, other.taskId);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Entry other
+                    && expiresAtMillis == other.expiresAtMillis && taskId == other.taskId;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(expiresAtMillis) * 31 + Long.hashCode(taskId);
+        }
+    }
+}
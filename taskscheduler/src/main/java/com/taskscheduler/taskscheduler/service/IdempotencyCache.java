@@ -0,0 +1,162 @@
+package com.taskscheduler.taskscheduler.service;
+
+import com.taskscheduler.taskscheduler.exception.IdempotencyKeyReusedException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache mapping an Idempotency-Key to the id of the task it created, together with a
+ * fingerprint of the request that created it.
+ * Every entry has the same TTL, so insertion order is also expiry order and a
+ * single FIFO queue serves both TTL eviction and the size cap.
+ */
+@Component
+public class IdempotencyCache {
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final Clock clock;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    @Autowired
+    public IdempotencyCache(@Value("${taskscheduler.idempotency.max-entries:100000}") int maxEntries,
+                            @Value("${taskscheduler.idempotency.ttl:24h}") Duration ttl) {
+        this(maxEntries, ttl, Clock.systemUTC());
+    }
+
+    IdempotencyCache(int maxEntries, Duration ttl, Clock clock) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the task id stored for {@code key}, or runs {@code creator} and stores its result.
+     * The key is reserved with an unfinished entry before the creator runs, so concurrent calls
+     * with the same key wait for that entry rather than creating twice, and no map lock is held
+     * while the task is created. If the creator fails the reservation is released and waiters
+     * retry.
+     *
+     * @param fingerprint digest of the request the key was sent with
+     * @throws IdempotencyKeyReusedException if the key is live for a different fingerprint
+     */
+    public Long getOrCreate(String key, long fingerprint, Supplier<Long> creator) {
+        while (true) {
+            long now = clock.millis();
+            Entry current = entries.get(key);
+            if (current == null || current.isExpired(now)) {
+                Entry reserved = new Entry(key, fingerprint, now + ttlMillis);
+                boolean won = current == null
+                        ? entries.putIfAbsent(key, reserved) == null
+                        : entries.replace(key, current, reserved);
+                if (!won) {
+                    continue;
+                }
+                insertionOrder.add(reserved);
+                // A replaced expired entry is already counted.
+                if (current == null) {
+                    size.incrementAndGet();
+                }
+                return create(reserved, creator, now);
+            }
+            if (current.fingerprint != fingerprint) {
+                throw new IdempotencyKeyReusedException(
+                        "Idempotency-Key was already used with a different request body");
+            }
+            try {
+                return current.taskId.join();
+            } catch (CompletionException | CancellationException e) {
+                // The first caller's create failed and released the key; try again as the owner.
+            }
+        }
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    private Long create(Entry reserved, Supplier<Long> creator, long now) {
+        Long taskId;
+        try {
+            taskId = creator.get();
+        } catch (RuntimeException | Error e) {
+            // The queue entry goes stale and is dropped by evict().
+            if (entries.remove(reserved.key, reserved)) {
+                size.decrementAndGet();
+            }
+            reserved.taskId.completeExceptionally(e);
+            throw e;
+        }
+        reserved.taskId.complete(taskId);
+        evict(now);
+        return taskId;
+    }
+
+    // Only one thread evicts at a time; others skip, so the cap can be exceeded by at most
+    // the number of concurrent inserters until the next insert. Reservations still being
+    // created are moved to the back instead, so their waiters never see the key vanish.
+    private void evict(long now) {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            Entry head;
+            Entry firstRequeued = null;
+            while ((head = insertionOrder.peek()) != null && head != firstRequeued
+                    && (head.isExpired(now) || size.get() > maxEntries)) {
+                insertionOrder.poll();
+                if (!head.taskId.isDone()) {
+                    insertionOrder.add(head);
+                    if (firstRequeued == null) {
+                        firstRequeued = head;
+                    }
+                    continue;
+                }
+                // A stale queue entry whose key was re-created after expiry is simply dropped.
+                if (entries.remove(head.key, head)) {
+                    size.decrementAndGet();
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private static final class Entry {
+        private final String key;
+        private final long fingerprint;
+        private final CompletableFuture<Long> taskId = new CompletableFuture<>();
+        private final long expiresAt;
+
+        private Entry(String key, long fingerprint, long expiresAt) {
+            this.key = key;
+            this.fingerprint = fingerprint;
+            this.expiresAt = expiresAt;
+        }
+
+        // A reservation whose create is still running never expires under its waiters.
+        private boolean isExpired(long now) {
+            return now >= expiresAt && taskId.isDone();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.taskscheduler.taskscheduler.service;
+
+import com.taskscheduler.taskscheduler.model.HistoryEvent;
+import com.taskscheduler.taskscheduler.model.Status;
+import com.taskscheduler.taskscheduler.model.Task;
+import com.taskscheduler.taskscheduler.repository.TaskRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Puts tasks whose lease ran out back in the queue. The lease reaper calls it for each expired
+ * lease, and claims whose request has gone are ended early the same way.
+ */
+@Component
+public class LeaseExpiry {
+
+    private final TaskRepository taskRepository;
+    private final LeaseManager leaseManager;
+    private final TaskHistoryStore taskHistory;
+    private final TaskTransitions transitions;
+
+    public LeaseExpiry(TaskRepository taskRepository, LeaseManager leaseManager, TaskHistoryStore taskHistory,
+                       TaskTransitions transitions) {
+        this.taskRepository = taskRepository;
+        this.leaseManager = leaseManager;
+        this.taskHistory = taskHistory;
+        this.transitions = transitions;
+    }
+
+    @PostConstruct
+    void startReaper() {
+        leaseManager.startReaper(this::expire);
+    }
+
+    // The request these tasks were claimed for has gone; end their leases now rather than
+    // leaving them to the reaper.
+    public void abandon(List<Task> claimed) {
+        for (Task task : claimed) {
+            synchronized (task) {
+                if (task.getStatus() == Status.IN_PROGRESS && task.getLeaseExpiresAt() != null) {
+                    task.setLeaseExpiresAt(Instant.now());
+                }
+            }
+            expire(task.getId());
+        }
+    }
+
+    void expire(Long id) {
+        Task task = taskRepository.findById(id).orElse(null);
+        if (task == null) {
+            return;
+        }
+        synchronized (task) {
+            if (task.isDeleted() || task.getStatus() != Status.IN_PROGRESS || task.getLeaseExpiresAt() == null
+                    || task.getLeaseExpiresAt().isAfter(Instant.now())) {
+                return;
+            }
+            task.setStatus(Status.PENDING);
+            task.setLeaseOwner(null);
+            task.setLeaseExpiresAt(null);
+            task.setUpdatedAt(Instant.now());
+            transitions.record(task, Status.IN_PROGRESS, Status.PENDING, task.getUpdatedAt(), "lease-expired");
+            taskHistory.record(task.getTenantId(), id, HistoryEvent.LEASE_EXPIRED, TaskHistoryStore.SYSTEM_ACTOR)
+                    .status(Status.PENDING).leaseOwner(null).append();
+            taskRepository.save(task);
+        }
+        transitions.offerIfReady(task);
+    }
+}
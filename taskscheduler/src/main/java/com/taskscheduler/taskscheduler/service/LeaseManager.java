@@ -0,0 +1,84 @@
+package com.taskscheduler.taskscheduler.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Expiry times of claimed tasks, indexed per tenant, and the timer-driven reaper that hands
+ * expired leases back to the owner of the tasks. Each pass reaps at most
+ * {@link #REAP_BATCH} leases per tenant, so a tenant with a mass of expiring leases cannot hold
+ * the timer while other tenants' leases wait.
+ */
+@Component
+public class LeaseManager {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaseManager.class);
+    static final int REAP_BATCH = 1000;
+
+    private final ScheduledExecutorService taskTimer;
+    private final long reaperIntervalMs;
+    private final Map<String, ExpiryIndex> leases = new ConcurrentHashMap<>();
+    private ScheduledFuture<?> reaper;
+
+    public LeaseManager(ScheduledExecutorService taskTimer,
+                        @Value("${taskscheduler.lease.reaper-interval:1s}") Duration reaperInterval) {
+        this.taskTimer = taskTimer;
+        this.reaperIntervalMs = reaperInterval.toMillis();
+    }
+
+    public void grant(String tenantId, Long taskId, long expiresAtMillis) {
+        leases.computeIfAbsent(tenantId, t -> new ExpiryIndex()).put(taskId, expiresAtMillis);
+    }
+
+    public void release(String tenantId, Long taskId) {
+        ExpiryIndex index = leases.get(tenantId);
+        if (index != null) {
+            index.remove(taskId);
+        }
+    }
+
+    public int activeLeases() {
+        int count = 0;
+        for (ExpiryIndex index : leases.values()) {
+            count += index.size();
+        }
+        return count;
+    }
+
+    public synchronized void startReaper(Consumer<Long> onExpired) {
+        if (reaper != null) {
+            return;
+        }
+        reaper = taskTimer.scheduleWithFixedDelay(() -> {
+            long now = System.currentTimeMillis();
+            for (ExpiryIndex index : leases.values()) {
+                for (Long taskId : index.pollExpired(now, REAP_BATCH)) {
+                    try {
+                        onExpired.accept(taskId);
+                    } catch (RuntimeException ex) {
+                        log.warn("Failed to expire lease of task {}", taskId, ex);
+                    }
+                }
+            }
+        }, reaperIntervalMs, reaperIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public synchronized void stopReaper() {
+        if (reaper != null) {
+            reaper.cancel(false);
+            reaper = null;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.taskscheduler.taskscheduler.service;
+
+import com.taskscheduler.taskscheduler.model.Task;
+import com.taskscheduler.taskscheduler.repository.TaskRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Reports tasks that passed their dueAt unfinished. The deadline watcher calls it once per
+ * breach; each report counts the miss, logs a warning and publishes a {@link TaskOverdueEvent}.
+ */
+@Component
+public class OverdueReporter {
+
+    private static final Logger log = LoggerFactory.getLogger(OverdueReporter.class);
+
+    private final TaskRepository taskRepository;
+    private final DeadlineTracker deadlineTracker;
+    private final TaskStats taskStats;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public OverdueReporter(TaskRepository taskRepository, DeadlineTracker deadlineTracker, TaskStats taskStats,
+                           ApplicationEventPublisher eventPublisher) {
+        this.taskRepository = taskRepository;
+        this.deadlineTracker = deadlineTracker;
+        this.taskStats = taskStats;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostConstruct
+    void startWatcher() {
+        deadlineTracker.startWatcher(this::report);
+    }
+
+    void report(Long id) {
+        Task task = taskRepository.findById(id).orElse(null);
+        if (task == null) {
+            return;
+        }
+        TaskOverdueEvent overdue;
+        synchronized (task) {
+            Instant now = Instant.now();
+            if (task.isDeleted() || TaskService.isTerminal(task.getStatus()) || task.getDueAt() == null
+                    || task.getDueAt().isAfter(now)) {
+                return;
+            }
+            overdue = new TaskOverdueEvent(id, task.getStatus(), task.getDueAt(), now);
+        }
+        taskStats.deadlineMissed(task.getTenantId());
+        log.warn("Task {} is overdue: due at {}, status {}", id, overdue.getDueAt(), overdue.getStatus());
+        eventPublisher.publishEvent(overdue);
+    }
+}
@@ -0,0 +1,108 @@
+package com.taskscheduler.taskscheduler.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Event counter with exponentially weighted moving averages of its rate, with 1, 5 and 15
+ * minute time constants in the style of the Unix load average. These are not sliding-window
+ * rates: every past tick still contributes, weighted by {@code e^(-age / time constant)}.
+ * Marks go into a striped {@link LongAdder}; every five seconds the count since the previous
+ * tick is folded into the three averages by whichever caller first notices the tick is due,
+ * so there is no background thread and no contention on the hot path.
+ */
+final class RateMeter {
+
+    private static final long TICK_NANOS = TimeUnit.SECONDS.toNanos(5);
+    private static final double TICK_SECONDS = 5.0;
+    // Beyond this many missed ticks every average has decayed to zero anyway.
+    private static final int MAX_CATCH_UP_TICKS = 1_000;
+
+    private final LongAdder total = new LongAdder();
+    // Value of total at the last tick; written only by the thread that won the tick CAS.
+    private volatile long counted;
+    private final Ewma oneMinute = new Ewma(1);
+    private final Ewma fiveMinute = new Ewma(5);
+    private final Ewma fifteenMinute = new Ewma(15);
+    private final AtomicLong lastTick;
+    private final LongSupplier nanoClock;
+
+    RateMeter(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.lastTick = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    void mark() {
+        tickIfNecessary();
+        total.increment();
+    }
+
+    long total() {
+        return total.sum();
+    }
+
+    /** Events per second, exponentially weighted with a one minute time constant. */
+    double oneMinuteEwma() {
+        tickIfNecessary();
+        return oneMinute.rate;
+    }
+
+    double fiveMinuteEwma() {
+        tickIfNecessary();
+        return fiveMinute.rate;
+    }
+
+    double fifteenMinuteEwma() {
+        tickIfNecessary();
+        return fifteenMinute.rate;
+    }
+
+    private void tickIfNecessary() {
+        long previous = lastTick.get();
+        long age = nanoClock.getAsLong() - previous;
+        if (age < TICK_NANOS) {
+            return;
+        }
+        long ticks = age / TICK_NANOS;
+        // Only the thread that advances lastTick folds the pending count in.
+        if (!lastTick.compareAndSet(previous, previous + ticks * TICK_NANOS)) {
+            return;
+        }
+        // sum() and a subtraction rather than sumThenReset(): a mark racing with a reset
+        // could be zeroed without having been counted.
+        long count = total.sum();
+        double instantRate = (count - counted) / TICK_SECONDS;
+        counted = count;
+        oneMinute.update(instantRate);
+        fiveMinute.update(instantRate);
+        fifteenMinute.update(instantRate);
+        for (long i = 1; i < Math.min(ticks, MAX_CATCH_UP_TICKS); i++) {
+            oneMinute.update(0);
+            fiveMinute.update(0);
+            fifteenMinute.update(0);
+        }
+    }
+
+    private static final class Ewma {
+        private final double alpha;
+        private volatile double rate;
+        // Written only by the tick winner, but the next winner may be another thread.
+        private volatile boolean initialized;
+
+        private Ewma(int minutes) {
+            this.alpha = 1 - Math.exp(-TICK_SECONDS / (60.0 * minutes));
+        }
+
+        // Called only by the thread that won the tick CAS.
+        private void update(double instantRate) {
+            if (initialized) {
+                rate += alpha * (instantRate - rate);
+            } else {
+                rate = instantRate;
+                initialized = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.taskscheduler.taskscheduler.service;
+
+import com.taskscheduler.taskscheduler.exception.BadRequestException;
+import com.taskscheduler.taskscheduler.model.Recurrence;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Keeps one timer per recurring task, armed for the next fire time minus a lead time.
+ * When a timer fires the listener materializes the occurrence and the timer is re-armed for
+ * the following fire time, so idle definitions only occupy a slot in the timer heap.
+ */
+@Component
+public class RecurrenceEngine {
+
+    static final long MIN_FIXED_RATE_MS = 1000;
+
+    private static final Logger log = LoggerFactory.getLogger(RecurrenceEngine.class);
+
+    private final ScheduledExecutorService taskTimer;
+    private final long leadTimeMs;
+    private final Map<Long, ScheduledFuture<?>> timers = new ConcurrentHashMap<>();
+
+    public RecurrenceEngine(ScheduledExecutorService taskTimer,
+                            @Value("${taskscheduler.recurrence.lead-time:5s}") Duration leadTime) {
+        this.taskTimer = taskTimer;
+        this.leadTimeMs = leadTime.toMillis();
+    }
+
+    /**
+     * @throws BadRequestException if the recurrence is not exactly one valid cron or fixed-rate spec
+     */
+    public static void validate(Recurrence recurrence) {
+        boolean hasCron = recurrence.getCron() != null && !recurrence.getCron().isBlank();
+        boolean hasRate = recurrence.getFixedRateMs() != null;
+        if (hasCron == hasRate) {
+            throw new BadRequestException("recurrence must set exactly one of cron or fixedRateMs");
+        }
+        if (hasCron && !CronExpression.isValidExpression(recurrence.getCron())) {
+            throw new BadRequestException("recurrence.cron is not a valid cron expression");
+        }
+        if (hasRate && recurrence.getFixedRateMs() < MIN_FIXED_RATE_MS) {
+            throw new BadRequestException("recurrence.fixedRateMs must be at least " + MIN_FIXED_RATE_MS);
+        }
+    }
+
+    /**
+     * Returns the first fire time strictly after {@code after}, or null if the cron
+     * expression never fires again.
+     */
+    public static Instant nextFireTime(Recurrence recurrence, Instant after) {
+        if (recurrence.getFixedRateMs() != null) {
+            return after.plusMillis(recurrence.getFixedRateMs());
+        }
+        ZonedDateTime next = CronExpression.parse(recurrence.getCron())
+                .next(after.atZone(ZoneOffset.UTC));
+        return next != null ? next.toInstant() : null;
+    }
+
+    /**
+     * Starts firing {@code listener} with (fireTime, nextFireTime) for each occurrence.
+     *
+     * @return the first fire time, or null if there is none
+     */
+    public Instant register(Long taskId, Recurrence recurrence, BiConsumer<Instant, Instant> listener) {
+        Instant first = nextFireTime(recurrence, Instant.now());
+        if (first != null) {
+            // Armed inside compute(), so a timer that fires at once finds its entry in place.
+            timers.compute(taskId, (id, previous) -> schedule(id, recurrence, first, listener));
+        }
+        return first;
+    }
+
+    public void cancel(Long taskId) {
+        ScheduledFuture<?> timer = timers.remove(taskId);
+        if (timer != null) {
+            timer.cancel(false);
+        }
+    }
+
+    public int registeredCount() {
+        return timers.size();
+    }
+
+    private ScheduledFuture<?> schedule(Long taskId, Recurrence recurrence, Instant fireTime,
+                                        BiConsumer<Instant, Instant> listener) {
+        long delay = Math.max(0, fireTime.toEpochMilli() - leadTimeMs - System.currentTimeMillis());
+        return taskTimer.schedule(
+                () -> fire(taskId, recurrence, fireTime, listener), delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void fire(Long taskId, Recurrence recurrence, Instant fireTime, BiConsumer<Instant, Instant> listener) {
+        // Unlike containsKey(), computeIfPresent() waits for a register() still arming this timer.
+        if (timers.computeIfPresent(taskId, (id, timer) -> timer) == null) {
+            return;
+        }
+        // Skip occurrences missed while the timer thread was busy instead of firing a backlog.
+        Instant now = Instant.now();
+        Instant next = nextFireTime(recurrence, fireTime.isBefore(now) ? now : fireTime);
+        try {
+            listener.accept(fireTime, next);
+        } catch (RuntimeException ex) {
+            log.warn("Failed to materialize occurrence of task {} at {}", taskId, fireTime, ex);
+        }
+        if (next == null) {
+            timers.remove(taskId);
+        } else {
+            // computeIfPresent so a concurrent cancel() is never undone by re-arming.
+            timers.computeIfPresent(taskId, (id, current) -> schedule(id, recurrence, next, listener));
+        }
+    }
+}
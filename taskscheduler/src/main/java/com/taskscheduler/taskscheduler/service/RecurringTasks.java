@@ -0,0 +1,96 @@
+package com.taskscheduler.taskscheduler.service;
+
+import com.taskscheduler.taskscheduler.exception.TenantQuotaExceededException;
+import com.taskscheduler.taskscheduler.model.Status;
+import com.taskscheduler.taskscheduler.model.Task;
+import com.taskscheduler.taskscheduler.repository.TaskRepository;
+import com.taskscheduler.taskscheduler.tenant.TenantQuotas;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Runs recurring templates: registers a template's schedule with the {@link RecurrenceEngine}
+ * and, at each fire time, materializes an occurrence as an ordinary task held in the queue
+ * until that time.
+ */
+@Component
+public class RecurringTasks {
+
+    private static final Logger log = LoggerFactory.getLogger(RecurringTasks.class);
+
+    private final TaskRepository taskRepository;
+    private final RecurrenceEngine recurrenceEngine;
+    private final TenantQuotas tenantQuotas;
+    private final TaskStats taskStats;
+    private final TaskHistoryStore taskHistory;
+    private final DependencyGraph dependencyGraph;
+    private final WorkQueue workQueue;
+
+    public RecurringTasks(TaskRepository taskRepository, RecurrenceEngine recurrenceEngine, TenantQuotas tenantQuotas,
+                          TaskStats taskStats, TaskHistoryStore taskHistory, DependencyGraph dependencyGraph,
+                          WorkQueue workQueue) {
+        this.taskRepository = taskRepository;
+        this.recurrenceEngine = recurrenceEngine;
+        this.tenantQuotas = tenantQuotas;
+        this.taskStats = taskStats;
+        this.taskHistory = taskHistory;
+        this.dependencyGraph = dependencyGraph;
+        this.workQueue = workQueue;
+    }
+
+    /**
+     * Starts the schedule of a saved template.
+     *
+     * @return the first fire time
+     */
+    public Instant register(Task template) {
+        Long templateId = template.getId();
+        return recurrenceEngine.register(templateId, template.getRecurrence(),
+                (fireTime, nextFireTime) -> materializeOccurrence(templateId, fireTime, nextFireTime));
+    }
+
+    public void cancel(Long templateId) {
+        recurrenceEngine.cancel(templateId);
+    }
+
+    private void materializeOccurrence(Long templateId, Instant fireTime, Instant nextFireTime) {
+        Task template = taskRepository.findById(templateId).orElse(null);
+        if (template == null || template.isDeleted()) {
+            recurrenceEngine.cancel(templateId);
+            return;
+        }
+        template.setScheduledAt(nextFireTime);
+        try {
+            tenantQuotas.acquireTask(template.getTenantId());
+        } catch (TenantQuotaExceededException ex) {
+            log.warn("Skipping occurrence of recurring task {} at {}: {}", templateId, fireTime, ex.getMessage());
+            taskRepository.save(template);
+            return;
+        }
+        Instant now = Instant.now();
+        Task occurrence = new Task(
+                null,
+                template.getTitle(),
+                template.getDescription(),
+                template.getPriority(),
+                Status.PENDING,
+                false,
+                now,
+                now
+        );
+        occurrence.setRecurrenceOf(templateId);
+        occurrence.setScheduledAt(fireTime);
+        occurrence.setRetryPolicy(template.getRetryPolicy());
+        occurrence.setTenantId(template.getTenantId());
+        Task saved = taskRepository.save(occurrence);
+        taskStats.taskCreated(saved);
+        taskHistory.recordCreated(saved, TaskHistoryStore.SYSTEM_ACTOR);
+        dependencyGraph.addTask(saved.getTenantId(), saved.getId(), List.of());
+        workQueue.offerAt(saved, fireTime);
+        taskRepository.save(template);
+    }
+}
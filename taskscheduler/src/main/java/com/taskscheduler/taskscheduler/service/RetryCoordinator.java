@@ -0,0 +1,101 @@
+package com.taskscheduler.taskscheduler.service;
+
+import com.taskscheduler.taskscheduler.dto.RetryQueueStats;
+import com.taskscheduler.taskscheduler.model.HistoryEvent;
+import com.taskscheduler.taskscheduler.model.RetryPolicy;
+import com.taskscheduler.taskscheduler.model.Status;
+import com.taskscheduler.taskscheduler.model.Task;
+import com.taskscheduler.taskscheduler.repository.TaskRepository;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Retries failed tasks: schedules the next attempt after the task's backoff, dead-letters it
+ * once its attempts are used up, and puts it back in the queue when the backoff has passed.
+ */
+@Component
+public class RetryCoordinator {
+
+    private final TaskRepository taskRepository;
+    private final RetryScheduler retryScheduler;
+    private final TaskHistoryStore taskHistory;
+    private final TaskTransitions transitions;
+
+    public RetryCoordinator(TaskRepository taskRepository, RetryScheduler retryScheduler,
+                            TaskHistoryStore taskHistory, TaskTransitions transitions) {
+        this.taskRepository = taskRepository;
+        this.retryScheduler = retryScheduler;
+        this.taskHistory = taskHistory;
+        this.transitions = transitions;
+    }
+
+    public RetryPolicy defaultPolicy() {
+        return retryScheduler.defaultPolicy();
+    }
+
+    public Set<Long> deadLetterIds(String tenantId) {
+        return retryScheduler.deadLetterIds(tenantId);
+    }
+
+    public RetryQueueStats stats(String tenantId) {
+        return retryScheduler.stats(tenantId);
+    }
+
+    /** Called with the task's monitor held, after it moved to FAILED. */
+    public void scheduleRetryOrDeadLetter(Task task) {
+        RetryPolicy policy = task.getRetryPolicy() != null ? task.getRetryPolicy() : retryScheduler.defaultPolicy();
+        int attempts = task.getAttempts() + 1;
+        task.setAttempts(attempts);
+        if (attempts >= policy.getMaxAttempts()) {
+            task.setDeadLettered(true);
+            retryScheduler.deadLetter(task.getTenantId(), task.getId());
+            return;
+        }
+        long delayMs = RetryScheduler.backoffMillis(policy, attempts);
+        task.setNextRetryAt(Instant.now().plusMillis(delayMs));
+        Long id = task.getId();
+        retryScheduler.schedule(task.getTenantId(), id, delayMs, () -> requeueAfterBackoff(id));
+    }
+
+    // A manual re-queue or cancel overrides any pending retry; re-queueing a dead letter
+    // starts a fresh attempt budget.
+    public void clearRetryState(Task task) {
+        retryScheduler.cancel(task.getTenantId(), task.getId());
+        task.setNextRetryAt(null);
+        if (task.isDeadLettered()) {
+            retryScheduler.clearDeadLetter(task.getTenantId(), task.getId());
+            task.setDeadLettered(false);
+            if (task.getStatus() == Status.PENDING) {
+                task.setAttempts(0);
+            }
+        }
+    }
+
+    /** Drops any pending retry and dead-letter entry of a deleted task. */
+    public void forget(String tenantId, Long id) {
+        retryScheduler.cancel(tenantId, id);
+        retryScheduler.clearDeadLetter(tenantId, id);
+    }
+
+    private void requeueAfterBackoff(Long id) {
+        Task task = taskRepository.findById(id).orElse(null);
+        if (task == null) {
+            return;
+        }
+        synchronized (task) {
+            if (task.isDeleted() || task.getStatus() != Status.FAILED) {
+                return;
+            }
+            task.setStatus(Status.PENDING);
+            task.setNextRetryAt(null);
+            task.setUpdatedAt(Instant.now());
+            transitions.record(task, Status.FAILED, Status.PENDING, task.getUpdatedAt(), "retry");
+            taskHistory.record(task.getTenantId(), id, HistoryEvent.RETRY_REQUEUED, TaskHistoryStore.SYSTEM_ACTOR)
+                    .status(Status.PENDING).append();
+            taskRepository.save(task);
+        }
+        transitions.offerIfReady(task);
+    }
+}
@@ -0,0 +1,127 @@
+package com.taskscheduler.taskscheduler.service;
+
+import com.taskscheduler.taskscheduler.dto.RetryQueueStats;
+import com.taskscheduler.taskscheduler.exception.BadRequestException;
+import com.taskscheduler.taskscheduler.model.RetryPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Delayed re-queueing of FAILED tasks on the shared task timer, plus the set of
+ * dead-lettered task ids. No thread sleeps while a retry is pending. Pending retries, dead
+ * letters and their counters are kept per tenant, so each tenant sees only its own.
+ */
+@Component
+public class RetryScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(RetryScheduler.class);
+
+    private final ScheduledExecutorService taskTimer;
+    private final RetryPolicy defaultPolicy;
+    private final Map<String, TenantRetries> tenants = new ConcurrentHashMap<>();
+
+    public RetryScheduler(ScheduledExecutorService taskTimer,
+                          @Value("${taskscheduler.retry.default-max-attempts:3}") int defaultMaxAttempts,
+                          @Value("${taskscheduler.retry.default-initial-backoff:1s}") Duration defaultInitialBackoff,
+                          @Value("${taskscheduler.retry.default-max-backoff:5m}") Duration defaultMaxBackoff) {
+        this.taskTimer = taskTimer;
+        this.defaultPolicy = new RetryPolicy(defaultMaxAttempts, defaultInitialBackoff.toMillis(),
+                defaultMaxBackoff.toMillis());
+        validate(defaultPolicy);
+    }
+
+    public static void validate(RetryPolicy policy) {
+        if (policy.getMaxAttempts() < 1) {
+            throw new BadRequestException("retryPolicy.maxAttempts must be at least 1");
+        }
+        if (policy.getInitialBackoffMs() <= 0 || policy.getMaxBackoffMs() < policy.getInitialBackoffMs()) {
+            throw new BadRequestException(
+                    "retryPolicy backoff must satisfy 0 < initialBackoffMs <= maxBackoffMs");
+        }
+    }
+
+    /**
+     * Exponential backoff with full jitter: uniform in [0, min(max, initial * 2^(attempt-1))].
+     */
+    public static long backoffMillis(RetryPolicy policy, int attempt) {
+        int shift = Math.min(attempt - 1, 62);
+        long ceiling = policy.getInitialBackoffMs() > (policy.getMaxBackoffMs() >> shift)
+                ? policy.getMaxBackoffMs()
+                : policy.getInitialBackoffMs() << shift;
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    public RetryPolicy defaultPolicy() {
+        return new RetryPolicy(defaultPolicy.getMaxAttempts(), defaultPolicy.getInitialBackoffMs(),
+                defaultPolicy.getMaxBackoffMs());
+    }
+
+    public void schedule(String tenantId, Long taskId, long delayMs, Runnable retry) {
+        TenantRetries retries = tenants.computeIfAbsent(tenantId, t -> new TenantRetries());
+        retries.scheduled.increment();
+        retries.totalBackoffMs.add(delayMs);
+        log.debug("Retrying task {} in {} ms", taskId, delayMs);
+        retries.pending.compute(taskId, (id, previous) -> {
+            if (previous != null) {
+                previous.cancel(false);
+            }
+            return taskTimer.schedule(() -> {
+                retries.pending.remove(id);
+                retry.run();
+            }, delayMs, TimeUnit.MILLISECONDS);
+        });
+    }
+
+    public void cancel(String tenantId, Long taskId) {
+        TenantRetries retries = tenants.get(tenantId);
+        ScheduledFuture<?> pending = retries != null ? retries.pending.remove(taskId) : null;
+        if (pending != null) {
+            pending.cancel(false);
+        }
+    }
+
+    public void deadLetter(String tenantId, Long taskId) {
+        tenants.computeIfAbsent(tenantId, t -> new TenantRetries()).deadLetters.add(taskId);
+    }
+
+    public void clearDeadLetter(String tenantId, Long taskId) {
+        TenantRetries retries = tenants.get(tenantId);
+        if (retries != null) {
+            retries.deadLetters.remove(taskId);
+        }
+    }
+
+    public Set<Long> deadLetterIds(String tenantId) {
+        TenantRetries retries = tenants.get(tenantId);
+        return retries != null ? Set.copyOf(retries.deadLetters) : Set.of();
+    }
+
+    public RetryQueueStats stats(String tenantId) {
+        TenantRetries retries = tenants.get(tenantId);
+        if (retries == null) {
+            return new RetryQueueStats(0, 0, 0, 0);
+        }
+        long scheduled = retries.scheduled.sum();
+        return new RetryQueueStats(retries.pending.size(), retries.deadLetters.size(), scheduled,
+                scheduled == 0 ? 0 : retries.totalBackoffMs.sum() / scheduled);
+    }
+
+    private static final class TenantRetries {
+        private final Map<Long, ScheduledFuture<?>> pending = new ConcurrentHashMap<>();
+        private final Set<Long> deadLetters = ConcurrentHashMap.newKeySet();
+        private final LongAdder scheduled = new LongAdder();
+        private final LongAdder totalBackoffMs = new LongAdder();
+    }
+}
@@ -0,0 +1,614 @@
+package com.taskscheduler.taskscheduler.service;
+
+import com.taskscheduler.taskscheduler.dto.FieldChange;
+import com.taskscheduler.taskscheduler.dto.TaskHistory;
+import com.taskscheduler.taskscheduler.dto.TaskHistoryEntry;
+import com.taskscheduler.taskscheduler.model.HistoryEvent;
+import com.taskscheduler.taskscheduler.model.Priority;
+import com.taskscheduler.taskscheduler.model.Status;
+import com.taskscheduler.taskscheduler.model.Task;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Append-only change history for tasks, varint-encoded into byte chunks per tenant. An event
+ * stores only the fields it changed and points back to the task's previous event. Whole chunks
+ * are dropped, oldest first across all tenants, once the store is over its byte budget or past
+ * retention; reads leave out expired events that are not dropped yet.
+ */
+@Component
+public class TaskHistoryStore {
+
+    /** Actor recorded for changes made by timers and the lease reaper rather than a request. */
+    public static final String SYSTEM_ACTOR = "system";
+
+    static final int DEFAULT_CHUNK_BYTES = 64 * 1024;
+    private static final int MAX_INTERNED_ACTORS = 4096;
+    private static final int MAX_ACTOR_LENGTH = 128;
+    // taskId, back-pointer, timestamp delta and actor reference, each at most a 10 byte varint.
+    private static final int MAX_HEADER_BYTES = 40;
+
+    // Field bits, in the order their values are encoded.
+    private static final int TITLE = 1;
+    private static final int DESCRIPTION = 1 << 1;
+    private static final int PRIORITY = 1 << 2;
+    private static final int STATUS = 1 << 3;
+    private static final int DEPENDS_ON = 1 << 4;
+    private static final int LEASE_OWNER = 1 << 5;
+    private static final int ATTEMPTS = 1 << 6;
+    private static final int DELETED = 1 << 7;
+    private static final int DUE_AT = 1 << 8;
+    private static final String[] FIELD_NAMES = {"title", "description", "priority", "status", "dependsOn",
+            "leaseOwner", "attempts", "deleted", "dueAt"};
+
+    private static final HistoryEvent[] EVENTS = HistoryEvent.values();
+    private static final Priority[] PRIORITIES = Priority.values();
+    private static final Status[] STATUSES = Status.values();
+
+    private final int chunkBytes;
+    private final long maxBytes;
+    private final long retentionMillis;
+    private final Clock clock;
+    private final ThreadLocal<Recorder> recorders = ThreadLocal.withInitial(() -> new Recorder());
+    private final Map<String, Partition> partitions = new ConcurrentHashMap<>();
+    // Chunks of every tenant in creation order; a tenant's chunks appear in its own order.
+    private final Queue<Chunk> chunkOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicLong chunksCreated = new AtomicLong();
+    private final AtomicLong retainedBytes = new AtomicLong();
+    private final LongAdder retainedEvents = new LongAdder();
+
+    @Autowired
+    public TaskHistoryStore(@Value("${taskscheduler.history.max-bytes:64MB}") DataSize maxBytes,
+                            @Value("${taskscheduler.history.retention:30d}") Duration retention) {
+        this(DEFAULT_CHUNK_BYTES, maxBytes.toBytes(), retention, Clock.systemUTC());
+    }
+
+    TaskHistoryStore(int chunkBytes, long maxBytes, Duration retention, Clock clock) {
+        if (chunkBytes <= MAX_HEADER_BYTES || maxBytes < chunkBytes) {
+            throw new IllegalArgumentException("maxBytes must hold at least one chunk");
+        }
+        this.chunkBytes = chunkBytes;
+        this.maxBytes = maxBytes;
+        this.retentionMillis = retention.toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * Starts an event for {@code taskId} of {@code tenantId} made by {@code actor}. Set the
+     * fields that changed on the returned recorder and call {@link Recorder#append()}. The
+     * recorder is reused by the calling thread, so it must be appended before the next call to
+     * this method. An UPDATED event with no fields set is not stored.
+     */
+    public Recorder record(String tenantId, Long taskId, HistoryEvent event, String actor) {
+        return recorders.get().reset(tenantId, taskId, event, actor);
+    }
+
+    /** Records the creation of {@code task} with the initial values of its fields. */
+    public void recordCreated(Task task, String actor) {
+        Recorder change = record(task.getTenantId(), task.getId(), HistoryEvent.CREATED, actor)
+                .title(task.getTitle())
+                .description(task.getDescription())
+                .priority(task.getPriority())
+                .status(task.getStatus());
+        if (!task.getDependsOn().isEmpty()) {
+            change.dependsOn(task.getDependsOn());
+        }
+        if (task.getDueAt() != null) {
+            change.dueAt(task.getDueAt());
+        }
+        change.append();
+    }
+
+    /**
+     * Returns the retained history of a task of {@code tenantId}, oldest first, or null if
+     * none is retained. Events past the retention period are left out.
+     */
+    public TaskHistory history(String tenantId, Long taskId) {
+        Partition partition = partitions.get(tenantId);
+        if (partition == null) {
+            return null;
+        }
+        partition.lock.lock();
+        try {
+            Long last = partition.lastPosition.get(taskId);
+            if (last == null) {
+                return null;
+            }
+            long firstSeq = partition.chunks.get(0).seq;
+            long cutoff = clock.millis() - retentionMillis;
+            long[] positions = new long[16];
+            int count = 0;
+            boolean truncated = false;
+            long position = last;
+            Cursor cursor = new Cursor();
+            while (true) {
+                partition.seek(cursor, position);
+                cursor.readVarint();
+                long back = cursor.readVarint();
+                if (cursor.chunk.baseMillis + unZigZag(cursor.readVarint()) < cutoff) {
+                    truncated = true;
+                    break;
+                }
+                if (count == positions.length) {
+                    positions = Arrays.copyOf(positions, count * 2);
+                }
+                positions[count++] = position;
+                if (back == 0) {
+                    break;
+                }
+                position -= back;
+                if ((position >>> 32) < firstSeq) {
+                    truncated = true;
+                    break;
+                }
+            }
+            if (count == 0) {
+                return null;
+            }
+
+            List<TaskHistoryEntry> entries = new ArrayList<>(count);
+            Object[] current = new Object[FIELD_NAMES.length];
+            for (int i = count - 1; i >= 0; i--) {
+                partition.seek(cursor, positions[i]);
+                entries.add(decode(partition, cursor, current));
+            }
+            return new TaskHistory(taskId, truncated, entries);
+        } finally {
+            partition.lock.unlock();
+        }
+    }
+
+    public long retainedBytes() {
+        return retainedBytes.get();
+    }
+
+    public long retainedEvents() {
+        return retainedEvents.sum();
+    }
+
+    // The body is encoded by the caller's thread before taking the lock; only the header,
+    // which depends on the chunk and the task's previous record, is written under it.
+    private void append(Recorder recorder) {
+        if (recorder.event == HistoryEvent.UPDATED && recorder.mask == 0) {
+            recorder.clear();
+            return;
+        }
+        recorder.encodeBody();
+        String actor = recorder.actor;
+        Partition partition = partitions.computeIfAbsent(recorder.tenantId, t -> new Partition());
+        Chunk chunk;
+        long now;
+        partition.lock.lock();
+        try {
+            now = clock.millis();
+            Integer actorId = partition.internActor(actor);
+            byte[] inlineActor = actorId == null ? actor.getBytes(StandardCharsets.UTF_8) : null;
+            int needed = MAX_HEADER_BYTES + recorder.length + (inlineActor != null ? inlineActor.length : 0);
+            chunk = partition.chunks.isEmpty() ? null : partition.chunks.get(partition.chunks.size() - 1);
+            if (chunk == null || chunk.data.length - chunk.length < needed) {
+                // Oversized records get a chunk of their own.
+                chunk = new Chunk(partition, partition.nextChunkSeq++, chunksCreated.getAndIncrement(),
+                        Math.max(chunkBytes, needed), now);
+                partition.chunks.add(chunk);
+                chunkOrder.add(chunk);
+                retainedBytes.addAndGet(chunk.data.length);
+            }
+
+            long position = (chunk.seq << 32) | chunk.length;
+            Long previous = partition.lastPosition.put(recorder.taskId, position);
+            byte[] data = chunk.data;
+            int offset = putVarint(data, chunk.length, recorder.taskId);
+            offset = putVarint(data, offset, previous != null ? position - previous : 0);
+            offset = putVarint(data, offset, zigZag(now - chunk.baseMillis));
+            if (inlineActor != null) {
+                offset = putVarint(data, offset, ((long) inlineActor.length << 1) | 1);
+                System.arraycopy(inlineActor, 0, data, offset, inlineActor.length);
+                offset += inlineActor.length;
+            } else {
+                offset = putVarint(data, offset, (long) actorId << 1);
+            }
+            System.arraycopy(recorder.scratch, 0, data, offset, recorder.length);
+            chunk.length = offset + recorder.length;
+            chunk.lastMillis = Math.max(chunk.lastMillis, now);
+            chunk.events++;
+            retainedEvents.increment();
+        } finally {
+            partition.lock.unlock();
+        }
+        recorder.clear();
+        evict(chunk, now);
+    }
+
+    // Drops the oldest chunks of any tenant while the store is over budget or they are past
+    // retention, keeping the chunk just written and any newer one. Runs without holding a lock and
+    // takes only the lock of the tenant whose chunk it drops.
+    private void evict(Chunk written, long now) {
+        while (true) {
+            Chunk oldest = chunkOrder.peek();
+            if (oldest == null || oldest.created >= written.created) {
+                return;
+            }
+            if (retainedBytes.get() <= maxBytes && oldest.lastMillis >= now - retentionMillis) {
+                return;
+            }
+            Partition partition = oldest.partition;
+            partition.lock.lock();
+            try {
+                // Another thread may have dropped it already.
+                if (chunkOrder.peek() != oldest) {
+                    continue;
+                }
+                if (retainedBytes.get() <= maxBytes && oldest.lastMillis >= now - retentionMillis) {
+                    return;
+                }
+                chunkOrder.poll();
+                partition.chunks.remove(0);
+                partition.drop(oldest);
+            } finally {
+                partition.lock.unlock();
+            }
+        }
+    }
+
+    private TaskHistoryEntry decode(Partition partition, Cursor cursor, Object[] current) {
+        cursor.readVarint();
+        cursor.readVarint();
+        long timestamp = cursor.chunk.baseMillis + unZigZag(cursor.readVarint());
+        String actor = partition.readActor(cursor);
+        List<FieldChange> changes = new ArrayList<>(4);
+        HistoryEvent event = readBody(cursor, current, changes);
+        return new TaskHistoryEntry(Instant.ofEpochMilli(timestamp), event, actor, changes);
+    }
+
+    // Reads the event type and changed fields, applying them to {@code current} and, if
+    // {@code changes} is non-null, describing each as a change from the previous value.
+    private HistoryEvent readBody(Cursor cursor, Object[] current, List<FieldChange> changes) {
+        HistoryEvent event = EVENTS[cursor.readByte()];
+        int mask = (int) cursor.readVarint();
+        for (int field = 0; field < FIELD_NAMES.length; field++) {
+            if ((mask & (1 << field)) == 0) {
+                continue;
+            }
+            Object value = switch (1 << field) {
+                case TITLE, DESCRIPTION, LEASE_OWNER -> cursor.readString();
+                case PRIORITY -> PRIORITIES[cursor.readByte()];
+                case STATUS -> STATUSES[cursor.readByte()];
+                case DEPENDS_ON -> cursor.readIds();
+                case ATTEMPTS -> (int) cursor.readVarint();
+                case DUE_AT -> cursor.readInstant();
+                default -> Boolean.TRUE;
+            };
+            if (changes != null) {
+                Object from = (1 << field) == DELETED ? Boolean.FALSE : current[field];
+                changes.add(new FieldChange(FIELD_NAMES[field], from, value));
+            }
+            current[field] = value;
+        }
+        return event;
+    }
+
+    private static int putVarint(byte[] buffer, int offset, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer[offset++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[offset++] = (byte) value;
+        return offset;
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /** One tenant's chunks, task index and interned actors, guarded by its lock. */
+    private final class Partition {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final List<Chunk> chunks = new ArrayList<>();
+        private final Map<Long, Long> lastPosition = new HashMap<>();
+        private final Map<String, Integer> actorIds = new HashMap<>();
+        private final List<String> actors = new ArrayList<>();
+        private long nextChunkSeq;
+
+        // Forgets tasks whose latest record is in the dropped chunk, so the index stays bounded too.
+        private void drop(Chunk chunk) {
+            retainedBytes.addAndGet(-chunk.data.length);
+            retainedEvents.add(-chunk.events);
+            Cursor cursor = new Cursor();
+            cursor.data = chunk.data;
+            Object[] scratch = new Object[FIELD_NAMES.length];
+            while (cursor.offset < chunk.length) {
+                long position = (chunk.seq << 32) | cursor.offset;
+                long taskId = cursor.readVarint();
+                cursor.readVarint();
+                cursor.readVarint();
+                readActor(cursor);
+                readBody(cursor, scratch, null);
+                lastPosition.remove(taskId, position);
+            }
+        }
+
+        private String readActor(Cursor cursor) {
+            long ref = cursor.readVarint();
+            if ((ref & 1) == 0) {
+                return actors.get((int) (ref >>> 1));
+            }
+            int length = (int) (ref >>> 1);
+            String actor = new String(cursor.data, cursor.offset, length, StandardCharsets.UTF_8);
+            cursor.offset += length;
+            return actor;
+        }
+
+        private Integer internActor(String actor) {
+            Integer id = actorIds.get(actor);
+            if (id == null && actors.size() < MAX_INTERNED_ACTORS) {
+                id = actors.size();
+                actors.add(actor);
+                actorIds.put(actor, id);
+            }
+            return id;
+        }
+
+        private void seek(Cursor cursor, long position) {
+            cursor.chunk = chunks.get((int) ((position >>> 32) - chunks.get(0).seq));
+            cursor.data = cursor.chunk.data;
+            cursor.offset = (int) position;
+        }
+    }
+
+    private static final class Chunk {
+        private final Partition partition;
+        private final long seq;
+        private final long created;
+        private final byte[] data;
+        private final long baseMillis;
+        // Written under the partition's lock; read without it to skip eviction when there is none due.
+        private volatile long lastMillis;
+        private int length;
+        private int events;
+
+        private Chunk(Partition partition, long seq, long created, int capacity, long baseMillis) {
+            this.partition = partition;
+            this.seq = seq;
+            this.created = created;
+            this.data = new byte[capacity];
+            this.baseMillis = baseMillis;
+            this.lastMillis = baseMillis;
+        }
+    }
+
+    private static final class Cursor {
+        private Chunk chunk;
+        private byte[] data;
+        private int offset;
+
+        private int readByte() {
+            return data[offset++] & 0xFF;
+        }
+
+        private long readVarint() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[offset++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+
+        private String readString() {
+            int length = (int) readVarint() - 1;
+            if (length < 0) {
+                return null;
+            }
+            String value = new String(data, offset, length, StandardCharsets.UTF_8);
+            offset += length;
+            return value;
+        }
+
+        private Instant readInstant() {
+            long value = readVarint();
+            return value == 0 ? null : Instant.ofEpochMilli(unZigZag(value - 1));
+        }
+
+        private List<Long> readIds() {
+            int count = (int) readVarint();
+            List<Long> ids = new ArrayList<>(count);
+            long previous = 0;
+            for (int i = 0; i < count; i++) {
+                previous += unZigZag(readVarint());
+                ids.add(previous);
+            }
+            return ids;
+        }
+    }
+
+    /**
+     * Collects the fields changed by one event. Only the fields that are set are stored.
+     */
+    public final class Recorder {
+        private String tenantId;
+        private long taskId;
+        private HistoryEvent event;
+        private String actor;
+        private int mask;
+        private String title;
+        private String description;
+        private Priority priority;
+        private Status status;
+        private List<Long> dependsOn;
+        private String leaseOwner;
+        private int attempts;
+        private Instant dueAt;
+        private byte[] scratch = new byte[256];
+        private int length;
+
+        private Recorder reset(String tenantId, Long taskId, HistoryEvent event, String actor) {
+            this.tenantId = tenantId;
+            this.taskId = taskId;
+            this.event = event;
+            if (actor == null || actor.isBlank()) {
+                this.actor = SYSTEM_ACTOR;
+            } else {
+                this.actor = actor.length() > MAX_ACTOR_LENGTH ? actor.substring(0, MAX_ACTOR_LENGTH) : actor;
+            }
+            this.mask = 0;
+            return this;
+        }
+
+        public Recorder title(String title) {
+            this.title = title;
+            mask |= TITLE;
+            return this;
+        }
+
+        public Recorder description(String description) {
+            this.description = description;
+            mask |= DESCRIPTION;
+            return this;
+        }
+
+        public Recorder priority(Priority priority) {
+            this.priority = priority;
+            mask |= PRIORITY;
+            return this;
+        }
+
+        public Recorder status(Status status) {
+            this.status = status;
+            mask |= STATUS;
+            return this;
+        }
+
+        public Recorder dependsOn(List<Long> dependsOn) {
+            this.dependsOn = dependsOn;
+            mask |= DEPENDS_ON;
+            return this;
+        }
+
+        public Recorder leaseOwner(String leaseOwner) {
+            this.leaseOwner = leaseOwner;
+            mask |= LEASE_OWNER;
+            return this;
+        }
+
+        public Recorder attempts(int attempts) {
+            this.attempts = attempts;
+            mask |= ATTEMPTS;
+            return this;
+        }
+
+        public Recorder dueAt(Instant dueAt) {
+            this.dueAt = dueAt;
+            mask |= DUE_AT;
+            return this;
+        }
+
+        public Recorder deleted() {
+            mask |= DELETED;
+            return this;
+        }
+
+        public void append() {
+            TaskHistoryStore.this.append(this);
+        }
+
+        private void encodeBody() {
+            length = 0;
+            ensureCapacity(11);
+            scratch[length++] = (byte) event.ordinal();
+            length = putVarint(scratch, length, mask);
+            if ((mask & TITLE) != 0) {
+                putString(title);
+            }
+            if ((mask & DESCRIPTION) != 0) {
+                putString(description);
+            }
+            if ((mask & PRIORITY) != 0) {
+                ensureCapacity(1);
+                scratch[length++] = (byte) priority.ordinal();
+            }
+            if ((mask & STATUS) != 0) {
+                ensureCapacity(1);
+                scratch[length++] = (byte) status.ordinal();
+            }
+            if ((mask & DEPENDS_ON) != 0) {
+                // Ids are usually close together, so each is stored as a delta from the last.
+                ensureCapacity(10 + 10 * dependsOn.size());
+                length = putVarint(scratch, length, dependsOn.size());
+                long previous = 0;
+                for (Long id : dependsOn) {
+                    length = putVarint(scratch, length, zigZag(id - previous));
+                    previous = id;
+                }
+            }
+            if ((mask & LEASE_OWNER) != 0) {
+                putString(leaseOwner);
+            }
+            if ((mask & ATTEMPTS) != 0) {
+                ensureCapacity(10);
+                length = putVarint(scratch, length, attempts);
+            }
+            if ((mask & DUE_AT) != 0) {
+                ensureCapacity(10);
+                length = putVarint(scratch, length, dueAt != null ? zigZag(dueAt.toEpochMilli()) + 1 : 0);
+            }
+        }
+
+        private void putString(String value) {
+            if (value == null) {
+                ensureCapacity(1);
+                length = putVarint(scratch, length, 0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            ensureCapacity(10 + bytes.length);
+            length = putVarint(scratch, length, bytes.length + 1L);
+            System.arraycopy(bytes, 0, scratch, length, bytes.length);
+            length += bytes.length;
+        }
+
+        private void ensureCapacity(int extra) {
+            if (length + extra > scratch.length) {
+                scratch = Arrays.copyOf(scratch, Math.max(scratch.length * 2, length + extra));
+            }
+        }
+
+        private void clear() {
+            tenantId = null;
+            actor = null;
+            title = null;
+            description = null;
+            dependsOn = null;
+            leaseOwner = null;
+            dueAt = null;
+            // Don't pin a large buffer to the thread after an unusually big record.
+            if (scratch.length > DEFAULT_CHUNK_BYTES) {
+                scratch = new byte[256];
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.taskscheduler.taskscheduler.service;
+
+import com.taskscheduler.taskscheduler.model.Status;
+
+import java.time.Instant;
+
+/**
+ * Published once when a task that is not yet COMPLETED or CANCELLED passes its {@code dueAt}.
+ */
+public class TaskOverdueEvent {
+
+    private final Long taskId;
+    private final Status status;
+    private final Instant dueAt;
+    private final Instant detectedAt;
+
+    public TaskOverdueEvent(Long taskId, Status status, Instant dueAt, Instant detectedAt) {
+        this.taskId = taskId;
+        this.status = status;
+        this.dueAt = dueAt;
+        this.detectedAt = detectedAt;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Instant getDueAt() {
+        return dueAt;
+    }
+
+    public Instant getDetectedAt() {
+        return detectedAt;
+    }
+}
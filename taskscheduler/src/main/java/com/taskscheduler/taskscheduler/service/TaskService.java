@@ -1,29 +1,116 @@
 package com.taskscheduler.taskscheduler.service;
 
 import com.taskscheduler.taskscheduler.dto.CreateTaskRequest;
+import com.taskscheduler.taskscheduler.dto.RetryQueueStats;
 import com.taskscheduler.taskscheduler.dto.StatusUpdateRequest;
+import com.taskscheduler.taskscheduler.dto.TaskHistory;
+import com.taskscheduler.taskscheduler.dto.TaskStatistics;
 import com.taskscheduler.taskscheduler.dto.UpdateTaskRequest;
 import com.taskscheduler.taskscheduler.exception.BadRequestException;
+import com.taskscheduler.taskscheduler.exception.ConflictException;
+import com.taskscheduler.taskscheduler.exception.IdempotencyKeyReusedException;
 import com.taskscheduler.taskscheduler.exception.TaskNotFoundException;
+import com.taskscheduler.taskscheduler.jfr.TaskOperationEvent;
+import com.taskscheduler.taskscheduler.model.HistoryEvent;
 import com.taskscheduler.taskscheduler.model.Priority;
+import com.taskscheduler.taskscheduler.model.Recurrence;
+import com.taskscheduler.taskscheduler.model.RetryPolicy;
 import com.taskscheduler.taskscheduler.model.Status;
 import com.taskscheduler.taskscheduler.model.Task;
 import com.taskscheduler.taskscheduler.repository.TaskRepository;
+import com.taskscheduler.taskscheduler.tenant.TenantQuotas;
+import com.taskscheduler.taskscheduler.tenant.Tenants;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 @Service
 public class TaskService {
 
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+    private static final int MAX_CLAIM_BATCH = 100;
+    private static final long MAX_LEASE_MS = TimeUnit.HOURS.toMillis(1);
+    private static final long MAX_CLAIM_WAIT_MS = TimeUnit.SECONDS.toMillis(30);
+
     private final TaskRepository taskRepository;
+    private final IdempotencyCache idempotencyCache;
+    private final DependencyGraph dependencyGraph;
+    private final RecurringTasks recurringTasks;
+    private final RetryCoordinator retries;
+    private final WorkQueue workQueue;
+    private final LeaseManager leaseManager;
+    private final LeaseExpiry leaseExpiry;
+    private final TaskTransitions transitions;
+    private final TaskStats taskStats;
+    private final TaskHistoryStore taskHistory;
+    private final DeadlineTracker deadlineTracker;
+    private final TenantQuotas tenantQuotas;
+    private final Executor claimExecutor;
 
-    public TaskService(TaskRepository taskRepository) {
+    public TaskService(TaskRepository taskRepository, IdempotencyCache idempotencyCache,
+                       DependencyGraph dependencyGraph, RecurringTasks recurringTasks, RetryCoordinator retries,
+                       WorkQueue workQueue, LeaseManager leaseManager, LeaseExpiry leaseExpiry,
+                       TaskTransitions transitions, TaskStats taskStats, TaskHistoryStore taskHistory,
+                       DeadlineTracker deadlineTracker, TenantQuotas tenantQuotas,
+                       @Qualifier("claimExecutor") Executor claimExecutor) {
         this.taskRepository = taskRepository;
+        this.idempotencyCache = idempotencyCache;
+        this.dependencyGraph = dependencyGraph;
+        this.recurringTasks = recurringTasks;
+        this.retries = retries;
+        this.workQueue = workQueue;
+        this.leaseManager = leaseManager;
+        this.leaseExpiry = leaseExpiry;
+        this.transitions = transitions;
+        this.taskStats = taskStats;
+        this.taskHistory = taskHistory;
+        this.deadlineTracker = deadlineTracker;
+        this.tenantQuotas = tenantQuotas;
+        this.claimExecutor = claimExecutor;
+    }
+
+    /**
+     * Creates a task on behalf of the service itself; its history attributes it to
+     * {@value TaskHistoryStore#SYSTEM_ACTOR}.
+     */
+    public Task create(String tenantId, CreateTaskRequest request) {
+        return createTask(Tenants.resolve(tenantId), request, TaskHistoryStore.SYSTEM_ACTOR);
     }
 
-    public Task create(CreateTaskRequest request) {
+    private Task createTask(String tenant, CreateTaskRequest request, String actor) {
+        TaskOperationEvent event = TaskOperationEvent.start("create");
+        List<Long> dependsOn = validateDependencies(tenant, request.getDependsOn());
+        Recurrence recurrence = request.getRecurrence();
+        if (recurrence != null) {
+            RecurrenceEngine.validate(recurrence);
+            if (!dependsOn.isEmpty()) {
+                throw new BadRequestException("Recurring tasks cannot declare dependencies");
+            }
+            if (request.getDueAt() != null) {
+                throw new BadRequestException("Recurring tasks cannot declare a dueAt");
+            }
+        }
+        RetryPolicy retryPolicy = request.getRetryPolicy();
+        if (retryPolicy != null) {
+            RetryScheduler.validate(retryPolicy);
+        } else {
+            retryPolicy = retries.defaultPolicy();
+        }
+        tenantQuotas.acquireTask(tenant);
         Instant now = Instant.now();
         Task task = new Task(
                 null,
@@ -35,11 +122,95 @@ public class TaskService {
                 now,
                 now
         );
-        return taskRepository.save(task);
+        task.setDependsOn(dependsOn);
+        task.setRecurrence(recurrence);
+        task.setRetryPolicy(retryPolicy);
+        task.setDueAt(request.getDueAt());
+        task.setTenantId(tenant);
+        Task saved;
+        if (recurrence != null) {
+            saved = taskRepository.save(task);
+        } else {
+            try {
+                saved = dependencyGraph.addTask(tenant, dependsOn, () -> taskRepository.save(task));
+            } catch (BadRequestException e) {
+                tenantQuotas.releaseTask(tenant);
+                throw e;
+            }
+        }
+        taskStats.taskCreated(saved);
+        taskHistory.recordCreated(saved, actor);
+        if (saved.getDueAt() != null) {
+            deadlineTracker.track(tenant, saved.getId(), saved.getDueAt().toEpochMilli());
+        }
+        if (recurrence != null) {
+            saved.setScheduledAt(recurringTasks.register(saved));
+        } else {
+            transitions.offerIfReady(saved);
+        }
+        event.finish(saved.getId());
+        return saved;
+    }
+
+    /**
+     * Creates a task once per Idempotency-Key and tenant; a retry with the same key returns
+     * the task created by the first call instead of creating a duplicate. Reusing a live key
+     * with a different request body is rejected with {@link IdempotencyKeyReusedException}.
+     * The task's history attributes its creation to {@code actor}.
+     */
+    public Task create(String tenantId, CreateTaskRequest request, String idempotencyKey, String actor) {
+        String tenant = Tenants.resolve(tenantId);
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return createTask(tenant, request, actor);
+        }
+        if (idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new BadRequestException(
+                    "Idempotency-Key must be at most " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+        }
+        // Tenant ids cannot contain ':', so keys of different tenants never collide.
+        Long id = idempotencyCache.getOrCreate(tenant + ":" + idempotencyKey, fingerprint(request),
+                () -> createTask(tenant, request, actor).getId());
+        return getById(tenant, id);
     }
 
-    public Task getById(Long id) {
-        Task task = taskRepository.findById(id)
+    /**
+     * First eight bytes of a SHA-256 over the request's fields, each length-prefixed so that
+     * adjacent values cannot run together. Only this digest is kept per key, not the body.
+     */
+    static long fingerprint(CreateTaskRequest request) {
+        StringBuilder canonical = new StringBuilder();
+        appendField(canonical, request.getTitle());
+        appendField(canonical, request.getDescription());
+        appendField(canonical, request.getPriority());
+        appendField(canonical, request.getDependsOn());
+        Recurrence recurrence = request.getRecurrence();
+        appendField(canonical, recurrence != null ? recurrence.getCron() : null);
+        appendField(canonical, recurrence != null ? recurrence.getFixedRateMs() : null);
+        RetryPolicy retryPolicy = request.getRetryPolicy();
+        appendField(canonical, retryPolicy != null ? retryPolicy.getMaxAttempts() : null);
+        appendField(canonical, retryPolicy != null ? retryPolicy.getInitialBackoffMs() : null);
+        appendField(canonical, retryPolicy != null ? retryPolicy.getMaxBackoffMs() : null);
+        appendField(canonical, request.getDueAt());
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static void appendField(StringBuilder canonical, Object value) {
+        if (value == null) {
+            canonical.append('-');
+            return;
+        }
+        String text = value.toString();
+        canonical.append(text.length()).append(':').append(text);
+    }
+
+    public Task getById(String tenantId, Long id) {
+        Task task = taskRepository.findById(Tenants.resolve(tenantId), id)
                 .orElseThrow(() -> new TaskNotFoundException(id));
         if (task.isDeleted()) {
             throw new TaskNotFoundException(id);
@@ -47,50 +218,384 @@ public class TaskService {
         return task;
     }
 
-    public Task update(Long id, UpdateTaskRequest request) {
-        Task task = getById(id);
+    public Task update(String tenantId, Long id, UpdateTaskRequest request, String actor) {
+        TaskOperationEvent event = TaskOperationEvent.start("update");
+        String tenant = Tenants.resolve(tenantId);
+        Task task = getById(tenant, id);
         if (request.getStatus() != null) {
             throw new BadRequestException("Use PATCH /tasks/{id}/status");
         }
-        task.setTitle(request.getTitle().trim());
-        task.setDescription(request.getDescription() != null ? request.getDescription().trim() : null);
-        if (request.getPriority() != null) {
-            task.setPriority(request.getPriority());
+        // Dependencies are checked first so a rejected update leaves the task untouched.
+        List<Long> dependsOn = null;
+        if (request.getDependsOn() != null) {
+            if (task.getRecurrence() != null && !request.getDependsOn().isEmpty()) {
+                throw new BadRequestException("Recurring tasks cannot declare dependencies");
+            }
+            dependsOn = validateDependencies(tenant, request.getDependsOn());
+        }
+        if (request.getDueAt() != null && task.getRecurrence() != null) {
+            throw new BadRequestException("Recurring tasks cannot declare a dueAt");
+        }
+        if (request.getDueAt() != null && request.isClearDueAt()) {
+            throw new BadRequestException("Set either dueAt or clearDueAt, not both");
+        }
+        if (dependsOn != null) {
+            dependencyGraph.replaceDependencies(tenant, id, dependsOn);
+        }
+        String title = request.getTitle().trim();
+        String description = request.getDescription() != null ? request.getDescription().trim() : null;
+        boolean reprioritized = request.getPriority() != null && request.getPriority() != task.getPriority();
+        Task saved;
+        synchronized (task) {
+            TaskHistoryStore.Recorder change = taskHistory.record(tenant, id, HistoryEvent.UPDATED, actor);
+            if (!title.equals(task.getTitle())) {
+                change.title(title);
+            }
+            if (!Objects.equals(description, task.getDescription())) {
+                change.description(description);
+            }
+            if (reprioritized) {
+                change.priority(request.getPriority());
+                taskStats.priorityChanged(task, request.getPriority());
+                task.setPriority(request.getPriority());
+            }
+            if (dependsOn != null && !dependsOn.equals(task.getDependsOn())) {
+                change.dependsOn(dependsOn);
+            }
+            if (request.getDueAt() != null && !request.getDueAt().equals(task.getDueAt())) {
+                change.dueAt(request.getDueAt());
+            } else if (request.isClearDueAt() && task.getDueAt() != null) {
+                change.dueAt(null);
+            }
+            change.append();
+            task.setTitle(title);
+            task.setDescription(description);
+            if (dependsOn != null) {
+                task.setDependsOn(dependsOn);
+            }
+            if (request.getDueAt() != null && !request.getDueAt().equals(task.getDueAt())) {
+                task.setDueAt(request.getDueAt());
+                if (!isTerminal(task.getStatus())) {
+                    deadlineTracker.track(tenant, id, request.getDueAt().toEpochMilli());
+                }
+            } else if (request.isClearDueAt() && task.getDueAt() != null) {
+                task.setDueAt(null);
+                deadlineTracker.untrack(tenant, id);
+            }
+            task.setUpdatedAt(Instant.now());
+            saved = taskRepository.save(task);
+        }
+        if (reprioritized && task.getStatus() == Status.PENDING && task.getRecurrence() == null) {
+            // The entry under the old priority goes stale and is skipped when polled.
+            transitions.offerIfReady(task);
+        }
+        event.finish(id);
+        return saved;
+    }
+
+    public Task softDelete(String tenantId, Long id, String actor) {
+        TaskOperationEvent event = TaskOperationEvent.start("delete");
+        Task task = getById(tenantId, id);
+        synchronized (task) {
+            if (task.isDeleted()) {
+                throw new TaskNotFoundException(id);
+            }
+            task.setDeleted(true);
+            task.setUpdatedAt(Instant.now());
+            taskStats.taskDeleted(task);
+            tenantQuotas.releaseTask(task.getTenantId());
+            taskHistory.record(task.getTenantId(), id, HistoryEvent.DELETED, actor).deleted().append();
+        }
+        if (task.getRecurrence() != null) {
+            recurringTasks.cancel(id);
+        }
+        retries.forget(task.getTenantId(), id);
+        leaseManager.release(task.getTenantId(), id);
+        deadlineTracker.untrack(task.getTenantId(), id);
+        Task saved = taskRepository.save(task);
+        dependencyGraph.remove(task.getTenantId(), id);
+        event.finish(id);
+        return saved;
+    }
+
+    public List<Task> listActive(String tenantId) {
+        return taskRepository.findAllActive(Tenants.resolve(tenantId));
+    }
+
+    public List<Task> listDeadLettered(String tenantId) {
+        String tenant = Tenants.resolve(tenantId);
+        return retries.deadLetterIds(tenant).stream()
+                .sorted()
+                .map(id -> taskRepository.findById(tenant, id))
+                .flatMap(Optional::stream)
+                .filter(t -> !t.isDeleted())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns up to {@code limit} of the tenant's unfinished tasks past their dueAt, most
+     * overdue first.
+     */
+    public List<Task> listOverdue(String tenantId, int limit) {
+        if (limit < 1) {
+            throw new BadRequestException("limit must be at least 1");
         }
-        task.setUpdatedAt(Instant.now());
-        return taskRepository.save(task);
+        String tenant = Tenants.resolve(tenantId);
+        return deadlineTracker.overdue(tenant, System.currentTimeMillis(), limit).stream()
+                .map(id -> taskRepository.findById(tenant, id))
+                .flatMap(Optional::stream)
+                .filter(t -> !t.isDeleted())
+                .collect(Collectors.toList());
     }
 
-    public Task softDelete(Long id) {
-        Task task = getById(id);
-        task.setDeleted(true);
-        task.setUpdatedAt(Instant.now());
-        return taskRepository.save(task);
+    public RetryQueueStats retryStats(String tenantId) {
+        return retries.stats(Tenants.resolve(tenantId));
     }
 
-    public List<Task> listActive() {
-        return taskRepository.findAllActive();
+    public TaskStatistics statistics(String tenantId) {
+        return taskStats.snapshot(Tenants.resolve(tenantId));
     }
 
-    public Task updateStatus(Long id, StatusUpdateRequest request) {
-        Task task = getById(id);
-        Status current = task.getStatus();
+    /**
+     * Returns the retained change history of a task. Deleted tasks keep their history.
+     */
+    public TaskHistory history(String tenantId, Long id) {
+        String tenant = Tenants.resolve(tenantId);
+        if (taskRepository.findById(tenant, id).isEmpty()) {
+            throw new TaskNotFoundException(id);
+        }
+        TaskHistory history = taskHistory.history(tenant, id);
+        // A missing history means the task predates the retained window.
+        return history != null ? history : new TaskHistory(id, true, List.of());
+    }
+
+    public Task updateStatus(String tenantId, Long id, StatusUpdateRequest request, String actor) {
+        TaskOperationEvent event = TaskOperationEvent.start("updateStatus");
+        Task task = getById(tenantId, id);
+        if (task.getRecurrence() != null) {
+            throw new BadRequestException("Recurring task " + id + " has no status; update its occurrences");
+        }
         Status requested = request.getStatus();
+        List<Long> unblocked = List.of();
+        Task saved;
+        synchronized (task) {
+            Status current = task.getStatus();
+            if (!isTransitionAllowed(current, requested)) {
+                throw new BadRequestException(
+                        "Cannot transition from " + current + " to " + requested);
+            }
+            if (requested == Status.IN_PROGRESS) {
+                int unresolved = dependencyGraph.unresolvedCount(id);
+                if (unresolved > 0) {
+                    throw new BadRequestException(
+                            "Task " + id + " is blocked by " + unresolved + " unfinished dependencies");
+                }
+            }
 
-        if (!isTransitionAllowed(current, requested)) {
-            throw new BadRequestException(
-                    "Cannot transition from " + current + " to " + requested);
+            Instant now = Instant.now();
+            String previousOwner = task.getLeaseOwner();
+            int previousAttempts = task.getAttempts();
+            task.setStatus(requested);
+            task.setUpdatedAt(now);
+            transitions.record(task, current, requested, now, "api");
+            if (current == Status.IN_PROGRESS) {
+                endLease(task);
+            }
+            switch (requested) {
+                case COMPLETED -> unblocked = dependencyGraph.markCompleted(id);
+                case FAILED -> retries.scheduleRetryOrDeadLetter(task);
+                case PENDING -> retries.clearRetryState(task);
+                case CANCELLED -> {
+                    retries.clearRetryState(task);
+                    dependencyGraph.markCancelled(task.getTenantId(), id);
+                }
+                default -> {
+                }
+            }
+            if (isTerminal(requested)) {
+                deadlineTracker.untrack(task.getTenantId(), id);
+            }
+            TaskHistoryStore.Recorder change = taskHistory.record(task.getTenantId(), id, HistoryEvent.STATUS_CHANGED, actor).status(requested);
+            if (!Objects.equals(previousOwner, task.getLeaseOwner())) {
+                change.leaseOwner(task.getLeaseOwner());
+            }
+            if (previousAttempts != task.getAttempts()) {
+                change.attempts(task.getAttempts());
+            }
+            change.append();
+            saved = taskRepository.save(task);
+        }
+        if (requested == Status.PENDING) {
+            transitions.offerIfReady(saved);
+        }
+        transitions.offerReady(task.getTenantId(), unblocked);
+        event.finish(id);
+        return saved;
+    }
+
+    /**
+     * Atomically moves up to {@code max} of the tenant's ready PENDING tasks, highest priority
+     * first, to IN_PROGRESS under a lease. If none are ready, the returned future completes once
+     * one is offered, or empty after {@code waitMs}; no thread is held while it waits. Cancelling
+     * the future hands any tasks claimed for it back to the queue.
+     */
+    public CompletableFuture<List<Task>> claim(String tenantId, int max, long leaseMs, long waitMs, String workerId,
+                                               String actor) {
+        String tenant = Tenants.resolve(tenantId);
+        if (max < 1 || max > MAX_CLAIM_BATCH) {
+            throw new BadRequestException("max must be between 1 and " + MAX_CLAIM_BATCH);
+        }
+        validateLeaseMs(leaseMs);
+        if (waitMs < 0 || waitMs > MAX_CLAIM_WAIT_MS) {
+            throw new BadRequestException("waitMs must be between 0 and " + MAX_CLAIM_WAIT_MS);
+        }
+        List<Task> claimed = claimReady(tenant, max, leaseMs, workerId, actor);
+        if (!claimed.isEmpty() || waitMs == 0) {
+            return CompletableFuture.completedFuture(claimed);
         }
+        CompletableFuture<List<Task>> result = new CompletableFuture<>();
+        claimWhenOffered(tenant, max, leaseMs, workerId, actor,
+                System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitMs), result);
+        return result;
+    }
+
+    private List<Task> claimReady(String tenant, int max, long leaseMs, String workerId, String actor) {
+        List<Task> claimed = new ArrayList<>();
+        Long id;
+        while (claimed.size() < max && (id = workQueue.poll(tenant)) != null) {
+            Task task = tryClaim(tenant, id, leaseMs, workerId, actor);
+            if (task != null) {
+                claimed.add(task);
+            }
+        }
+        return claimed;
+    }
+
+    private void claimWhenOffered(String tenant, int max, long leaseMs, String workerId, String actor,
+                                  long deadlineNanos, CompletableFuture<List<Task>> result) {
+        workQueue.awaitWork(tenant, deadlineNanos - System.nanoTime()).whenCompleteAsync((offered, ex) -> {
+            if (result.isDone()) {
+                if (Boolean.TRUE.equals(offered)) {
+                    workQueue.signal(tenant);
+                }
+                return;
+            }
+            try {
+                if (!Boolean.TRUE.equals(offered)) {
+                    result.complete(List.of());
+                    return;
+                }
+                List<Task> claimed = claimReady(tenant, max, leaseMs, workerId, actor);
+                if (claimed.isEmpty()) {
+                    // Another claimer took the work; wait for the next offer with what is left.
+                    claimWhenOffered(tenant, max, leaseMs, workerId, actor, deadlineNanos, result);
+                } else if (!result.complete(claimed)) {
+                    leaseExpiry.abandon(claimed);
+                }
+            } catch (RuntimeException failure) {
+                result.completeExceptionally(failure);
+            }
+        }, claimExecutor);
+    }
+
+    /**
+     * Extends the lease on a claimed task to {@code leaseMs} from now.
+     */
+    public Task heartbeat(String tenantId, Long id, long leaseMs, String workerId) {
+        validateLeaseMs(leaseMs);
+        Task task = getById(tenantId, id);
+        synchronized (task) {
+            if (task.getStatus() != Status.IN_PROGRESS || task.getLeaseExpiresAt() == null) {
+                throw new ConflictException("Task " + id + " has no active lease");
+            }
+            if (task.getLeaseOwner() != null && !task.getLeaseOwner().equals(workerId)) {
+                throw new ConflictException(workerId == null
+                        ? "Task " + id + " is leased by a worker; send its X-Worker-Id"
+                        : "Task " + id + " is leased by another worker");
+            }
+            Instant expiresAt = Instant.now().plusMillis(leaseMs);
+            task.setLeaseExpiresAt(expiresAt);
+            leaseManager.grant(task.getTenantId(), id, expiresAt.toEpochMilli());
+            return taskRepository.save(task);
+        }
+    }
+
+    private Task tryClaim(String tenant, Long id, long leaseMs, String workerId, String actor) {
+        Task task = taskRepository.findById(tenant, id).orElse(null);
+        if (task == null) {
+            return null;
+        }
+        synchronized (task) {
+            if (task.isDeleted() || task.getStatus() != Status.PENDING || task.getRecurrence() != null
+                    || dependencyGraph.unresolvedCount(id) > 0) {
+                return null;
+            }
+            Instant now = Instant.now();
+            if (task.getScheduledAt() != null && task.getScheduledAt().isAfter(now)) {
+                // An occurrence materialized ahead of its fire time; hand it back for then.
+                workQueue.offerAt(task, task.getScheduledAt());
+                return null;
+            }
+            Instant expiresAt = now.plusMillis(leaseMs);
+            task.setStatus(Status.IN_PROGRESS);
+            task.setLeaseOwner(workerId);
+            task.setLeaseExpiresAt(expiresAt);
+            task.setUpdatedAt(now);
+            transitions.record(task, Status.PENDING, Status.IN_PROGRESS, now, "claim");
+            taskHistory.record(tenant, id, HistoryEvent.CLAIMED, actor).status(Status.IN_PROGRESS).leaseOwner(workerId).append();
+            leaseManager.grant(tenant, id, expiresAt.toEpochMilli());
+            return taskRepository.save(task);
+        }
+    }
+
+    private void endLease(Task task) {
+        if (task.getLeaseExpiresAt() != null) {
+            leaseManager.release(task.getTenantId(), task.getId());
+            task.setLeaseOwner(null);
+            task.setLeaseExpiresAt(null);
+        }
+    }
+
+    private static void validateLeaseMs(long leaseMs) {
+        if (leaseMs < 1 || leaseMs > MAX_LEASE_MS) {
+            throw new BadRequestException("leaseMs must be between 1 and " + MAX_LEASE_MS);
+        }
+    }
+
+    private List<Long> validateDependencies(String tenant, List<Long> dependsOn) {
+        if (dependsOn == null || dependsOn.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(dependsOn));
+        for (Long dependencyId : distinct) {
+            Task dependency = dependencyId != null
+                    ? taskRepository.findById(tenant, dependencyId).filter(t -> !t.isDeleted()).orElse(null)
+                    : null;
+            if (dependency == null) {
+                throw new BadRequestException("Dependency task not found: " + dependencyId);
+            }
+            // A cancelled task never completes, so depending on it would block forever.
+            if (dependency.getStatus() == Status.CANCELLED) {
+                throw new BadRequestException("Dependency task " + dependencyId + " is cancelled");
+            }
+            // A recurring template never runs itself; its occurrences do.
+            if (dependency.getRecurrence() != null) {
+                throw new BadRequestException(
+                        "Dependency task " + dependencyId + " is a recurring template; depend on an occurrence");
+            }
+        }
+        return distinct;
+    }
 
-        task.setStatus(requested);
-        task.setUpdatedAt(Instant.now());
-        return taskRepository.save(task);
+    static boolean isTerminal(Status status) {
+        return status == Status.COMPLETED || status == Status.CANCELLED;
     }
 
     private boolean isTransitionAllowed(Status current, Status next) {
         return switch (current) {
             case PENDING -> next == Status.IN_PROGRESS || next == Status.CANCELLED;
-            case IN_PROGRESS -> next == Status.COMPLETED || next == Status.CANCELLED;
+            case IN_PROGRESS -> next == Status.COMPLETED || next == Status.CANCELLED || next == Status.FAILED;
+            case FAILED -> next == Status.PENDING || next == Status.CANCELLED;
             case COMPLETED, CANCELLED -> false;
         };
     }
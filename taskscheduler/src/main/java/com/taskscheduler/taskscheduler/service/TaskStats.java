@@ -0,0 +1,169 @@
+package com.taskscheduler.taskscheduler.service;
+
+import com.taskscheduler.taskscheduler.dto.LatencyStats;
+import com.taskscheduler.taskscheduler.dto.RateStats;
+import com.taskscheduler.taskscheduler.dto.TaskStatistics;
+import com.taskscheduler.taskscheduler.model.Priority;
+import com.taskscheduler.taskscheduler.model.Status;
+import com.taskscheduler.taskscheduler.model.Task;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Aggregate task statistics maintained incrementally by {@link TaskService}. Every change is
+ * an O(1) {@link LongAdder} update, so writers on different cores do not contend and a
+ * snapshot costs the same regardless of how many tasks are stored. Counters are kept per
+ * tenant, keyed by the task's tenant id, so a snapshot describes one tenant's tasks only.
+ * Callers report a change while holding the task's monitor, which keeps the per-status counts
+ * consistent with the task itself.
+ */
+@Component
+public class TaskStats {
+
+    private final Map<String, Counters> tenants = new ConcurrentHashMap<>();
+    private final LongSupplier nanoClock;
+    // Returned for tenants without counters, so asking about an unknown tenant allocates nothing.
+    private final TaskStatistics empty;
+
+    public TaskStats() {
+        this(System::nanoTime);
+    }
+
+    TaskStats(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.empty = snapshot(new Counters(nanoClock));
+    }
+
+    public void taskCreated(Task task) {
+        Counters counters = counters(task.getTenantId());
+        counters.created.mark();
+        if (task.getRecurrence() != null) {
+            counters.recurringTemplates.increment();
+            return;
+        }
+        counters.byStatus[task.getStatus().ordinal()].increment();
+        counters.byPriority[task.getPriority().ordinal()].increment();
+    }
+
+    /**
+     * Records a status transition; a move to COMPLETED also records the task's time from
+     * creation to completion.
+     */
+    public void statusChanged(Task task, Status from, Status to, Instant at) {
+        if (from == to) {
+            return;
+        }
+        Counters counters = counters(task.getTenantId());
+        counters.byStatus[from.ordinal()].decrement();
+        counters.byStatus[to.ordinal()].increment();
+        if (to == Status.COMPLETED) {
+            counters.completed.mark();
+            counters.timeToComplete.record(Duration.between(task.getCreatedAt(), at).toMillis());
+        }
+    }
+
+    /**
+     * Records a priority change; call before updating the task.
+     */
+    public void priorityChanged(Task task, Priority to) {
+        Priority from = task.getPriority();
+        if (from == to || task.getRecurrence() != null) {
+            return;
+        }
+        Counters counters = counters(task.getTenantId());
+        counters.byPriority[from.ordinal()].decrement();
+        counters.byPriority[to.ordinal()].increment();
+    }
+
+    public void taskDeleted(Task task) {
+        Counters counters = counters(task.getTenantId());
+        counters.deleted.increment();
+        if (task.getRecurrence() != null) {
+            counters.recurringTemplates.decrement();
+            return;
+        }
+        counters.byStatus[task.getStatus().ordinal()].decrement();
+        counters.byPriority[task.getPriority().ordinal()].decrement();
+    }
+
+    public void deadlineMissed(String tenantId) {
+        counters(tenantId).deadlinesMissed.increment();
+    }
+
+    public TaskStatistics snapshot(String tenantId) {
+        Counters counters = tenants.get(tenantId);
+        return counters != null ? snapshot(counters) : empty;
+    }
+
+    private static TaskStatistics snapshot(Counters counters) {
+        TaskStatistics stats = new TaskStatistics();
+        Map<Status, Long> statusCounts = new EnumMap<>(Status.class);
+        long active = 0;
+        for (Status status : Status.values()) {
+            long count = counters.byStatus[status.ordinal()].sum();
+            statusCounts.put(status, count);
+            active += count;
+        }
+        Map<Priority, Long> priorityCounts = new EnumMap<>(Priority.class);
+        for (Priority priority : Priority.values()) {
+            priorityCounts.put(priority, counters.byPriority[priority.ordinal()].sum());
+        }
+        LatencyHistogram timeToComplete = counters.timeToComplete;
+        stats.setActiveTasks(active);
+        stats.setRecurringTemplates(counters.recurringTemplates.sum());
+        stats.setByStatus(statusCounts);
+        stats.setByPriority(priorityCounts);
+        stats.setCreated(rates(counters.created));
+        stats.setCompleted(rates(counters.completed));
+        stats.setDeleted(counters.deleted.sum());
+        stats.setDeadlinesMissed(counters.deadlinesMissed.sum());
+        stats.setTimeToComplete(new LatencyStats(
+                timeToComplete.count(),
+                timeToComplete.mean(),
+                timeToComplete.percentile(50),
+                timeToComplete.percentile(90),
+                timeToComplete.percentile(99),
+                timeToComplete.max()));
+        return stats;
+    }
+
+    private Counters counters(String tenantId) {
+        return tenants.computeIfAbsent(tenantId, t -> new Counters(nanoClock));
+    }
+
+    private static RateStats rates(RateMeter meter) {
+        return new RateStats(meter.total(), meter.oneMinuteEwma(), meter.fiveMinuteEwma(),
+                meter.fifteenMinuteEwma());
+    }
+
+    private static LongAdder[] adders(int size) {
+        LongAdder[] adders = new LongAdder[size];
+        for (int i = 0; i < size; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    private static final class Counters {
+        private final LongAdder[] byStatus = adders(Status.values().length);
+        private final LongAdder[] byPriority = adders(Priority.values().length);
+        private final LongAdder recurringTemplates = new LongAdder();
+        private final LongAdder deleted = new LongAdder();
+        private final LongAdder deadlinesMissed = new LongAdder();
+        private final RateMeter created;
+        private final RateMeter completed;
+        private final LatencyHistogram timeToComplete = new LatencyHistogram();
+
+        private Counters(LongSupplier nanoClock) {
+            this.created = new RateMeter(nanoClock);
+            this.completed = new RateMeter(nanoClock);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.taskscheduler.taskscheduler.service;
+
+import com.taskscheduler.taskscheduler.jfr.StatusTransitionEvent;
+import com.taskscheduler.taskscheduler.model.Status;
+import com.taskscheduler.taskscheduler.model.Task;
+import com.taskscheduler.taskscheduler.repository.TaskRepository;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Bookkeeping shared by every status change, whether a request or a timer makes it: the
+ * statistics and JFR event of the transition, and handing tasks that became ready to the
+ * work queue.
+ */
+@Component
+public class TaskTransitions {
+
+    private final TaskRepository taskRepository;
+    private final DependencyGraph dependencyGraph;
+    private final WorkQueue workQueue;
+    private final TaskStats taskStats;
+
+    public TaskTransitions(TaskRepository taskRepository, DependencyGraph dependencyGraph, WorkQueue workQueue,
+                           TaskStats taskStats) {
+        this.taskRepository = taskRepository;
+        this.dependencyGraph = dependencyGraph;
+        this.workQueue = workQueue;
+        this.taskStats = taskStats;
+    }
+
+    /** Records a transition the caller has just applied while holding the task's monitor. */
+    public void record(Task task, Status from, Status to, Instant at, String trigger) {
+        taskStats.statusChanged(task, from, to, at);
+        StatusTransitionEvent.emit(task.getId(), from, to, trigger);
+    }
+
+    public void offerIfReady(Task task) {
+        if (dependencyGraph.unresolvedCount(task.getId()) == 0) {
+            workQueue.offer(task);
+        }
+    }
+
+    // Dependencies never cross tenants, so the unblocked ids are all in the given tenant.
+    public void offerReady(String tenant, List<Long> ids) {
+        for (Long readyId : ids) {
+            taskRepository.findById(tenant, readyId)
+                    .filter(t -> !t.isDeleted() && t.getStatus() == Status.PENDING)
+                    .ifPresent(workQueue::offer);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.taskscheduler.taskscheduler.service;
+
+import com.taskscheduler.taskscheduler.model.Priority;
+import com.taskscheduler.taskscheduler.model.Task;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ids of tasks that may be ready to claim, one FIFO per priority per tenant. Entries are
+ * validated when polled rather than removed when a task changes state, so a polled id may be
+ * stale. Claimers with nothing to do register a future that is completed when work is offered
+ * to their tenant, so a long poll holds no thread while it waits. Each offer wakes one waiter, on
+ * the offering thread, which may be holding a task's lock; waiters must continue asynchronously.
+ */
+@Component
+public class WorkQueue {
+
+    private static final Priority[] CLAIM_ORDER = {Priority.HIGH, Priority.MEDIUM, Priority.LOW};
+
+    private final ScheduledExecutorService taskTimer;
+    private final Map<String, Lane> lanes = new ConcurrentHashMap<>();
+
+    public WorkQueue(ScheduledExecutorService taskTimer) {
+        this.taskTimer = taskTimer;
+    }
+
+    public void offer(Task task) {
+        lanes.computeIfAbsent(task.getTenantId(), t -> new Lane()).offer(task);
+    }
+
+    /**
+     * Offers the task once {@code notBefore} has passed, or now if it already has.
+     */
+    public void offerAt(Task task, Instant notBefore) {
+        long delay = notBefore.toEpochMilli() - System.currentTimeMillis();
+        if (delay <= 0) {
+            offer(task);
+        } else {
+            taskTimer.schedule(() -> offer(task), delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Returns the tenant's oldest id of the highest priority that has one, or null if all are
+     * empty.
+     */
+    public Long poll(String tenantId) {
+        Lane lane = lanes.get(tenantId);
+        return lane != null ? lane.poll() : null;
+    }
+
+    /**
+     * Returns a future completed with true once there is something to poll for the tenant, or
+     * with false after {@code timeoutNanos}.
+     */
+    public CompletableFuture<Boolean> awaitWork(String tenantId, long timeoutNanos) {
+        return lanes.computeIfAbsent(tenantId, t -> new Lane()).awaitWork(timeoutNanos);
+    }
+
+    /**
+     * Wakes one of the tenant's waiters, if any, to pass on an offer its previous recipient did
+     * not take.
+     */
+    public void signal(String tenantId) {
+        Lane lane = lanes.get(tenantId);
+        if (lane != null) {
+            lane.wakeOne();
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Lane lane : lanes.values()) {
+            size += lane.size();
+        }
+        return size;
+    }
+
+    private final class Lane {
+        @SuppressWarnings("unchecked")
+        private final Queue<Long>[] queues = new Queue[Priority.values().length];
+        private final Queue<CompletableFuture<Boolean>> waiters = new ConcurrentLinkedQueue<>();
+
+        private Lane() {
+            for (Priority priority : Priority.values()) {
+                queues[priority.ordinal()] = new ConcurrentLinkedQueue<>();
+            }
+        }
+
+        private void offer(Task task) {
+            queues[task.getPriority().ordinal()].add(task.getId());
+            wakeOne();
+        }
+
+        private Long poll() {
+            for (Priority priority : CLAIM_ORDER) {
+                Long id = queues[priority.ordinal()].poll();
+                if (id != null) {
+                    return id;
+                }
+            }
+            return null;
+        }
+
+        private CompletableFuture<Boolean> awaitWork(long timeoutNanos) {
+            CompletableFuture<Boolean> waiter = new CompletableFuture<>();
+            waiters.add(waiter);
+            // Checked after registering, so an offer racing with this call is never missed.
+            if (!isEmpty()) {
+                waiters.remove(waiter);
+                waiter.complete(true);
+                return waiter;
+            }
+            ScheduledFuture<?> timeout = taskTimer.schedule(() -> {
+                if (waiter.complete(false)) {
+                    waiters.remove(waiter);
+                }
+            }, timeoutNanos, TimeUnit.NANOSECONDS);
+            waiter.whenComplete((offered, ex) -> timeout.cancel(false));
+            return waiter;
+        }
+
+        // Skips waiters that timed out or were cancelled, so the offer is not lost on them.
+        private void wakeOne() {
+            CompletableFuture<Boolean> waiter;
+            while ((waiter = waiters.poll()) != null) {
+                if (waiter.complete(true)) {
+                    return;
+                }
+            }
+        }
+
+        private int size() {
+            int size = 0;
+            for (Queue<Long> queue : queues) {
+                size += queue.size();
+            }
+            return size;
+        }
+
+        private boolean isEmpty() {
+            for (Queue<Long> queue : queues) {
+                if (!queue.isEmpty()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.taskscheduler.taskscheduler.tenant;
+
+import com.taskscheduler.taskscheduler.exception.TenantQuotaExceededException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps the number of non-deleted tasks each tenant holds, and the number of tenants, so a
+ * bulk import by one team cannot grow the shared heap without bound. A slot is reserved
+ * before a task is stored and given back when it is deleted.
+ */
+@Component
+public class TenantQuotas {
+
+    private final long maxTasks;
+    private final int maxTenants;
+    private final Map<String, AtomicLong> taskCounts = new ConcurrentHashMap<>();
+
+    public TenantQuotas(@Value("${taskscheduler.tenant.max-tasks:100000}") long maxTasks,
+                        @Value("${taskscheduler.tenant.max-tenants:1000}") int maxTenants) {
+        this.maxTasks = maxTasks;
+        this.maxTenants = maxTenants;
+    }
+
+    public void acquireTask(String tenantId) {
+        AtomicLong count = taskCounts.get(tenantId);
+        if (count == null) {
+            if (taskCounts.size() >= maxTenants) {
+                throw new TenantQuotaExceededException("Tenant limit of " + maxTenants + " reached");
+            }
+            count = taskCounts.computeIfAbsent(tenantId, t -> new AtomicLong());
+        }
+        long current;
+        do {
+            current = count.get();
+            if (current >= maxTasks) {
+                throw new TenantQuotaExceededException(
+                        "Tenant " + tenantId + " has reached its quota of " + maxTasks + " tasks");
+            }
+        } while (!count.compareAndSet(current, current + 1));
+    }
+
+    public void releaseTask(String tenantId) {
+        AtomicLong count = taskCounts.get(tenantId);
+        if (count != null) {
+            count.decrementAndGet();
+        }
+    }
+
+    public long taskCount(String tenantId) {
+        AtomicLong count = taskCounts.get(tenantId);
+        return count != null ? count.get() : 0;
+    }
+}
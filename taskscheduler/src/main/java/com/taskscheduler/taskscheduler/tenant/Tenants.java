@@ -0,0 +1,31 @@
+package com.taskscheduler.taskscheduler.tenant;
+
+import com.taskscheduler.taskscheduler.exception.BadRequestException;
+
+import java.util.regex.Pattern;
+
+/**
+ * Resolves the tenant a request acts for from the {@value #HEADER} header. Requests without
+ * the header belong to {@value #DEFAULT_TENANT}, so single-tenant clients keep working.
+ */
+public final class Tenants {
+
+    public static final String HEADER = "X-Tenant-Id";
+    public static final String DEFAULT_TENANT = "default";
+
+    private static final Pattern VALID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    private Tenants() {
+    }
+
+    public static String resolve(String header) {
+        if (header == null || header.isBlank()) {
+            return DEFAULT_TENANT;
+        }
+        String tenantId = header.trim();
+        if (!VALID.matcher(tenantId).matches()) {
+            throw new BadRequestException(HEADER + " must be 1-64 letters, digits, '-' or '_'");
+        }
+        return tenantId;
+    }
+}
@@ -0,0 +1,108 @@
+package com.taskscheduler.taskscheduler.codec;
+
+import com.taskscheduler.taskscheduler.model.Priority;
+import com.taskscheduler.taskscheduler.model.RetryPolicy;
+import com.taskscheduler.taskscheduler.model.Status;
+import com.taskscheduler.taskscheduler.model.Task;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Serialization throughput of {@link TaskCborCodec} against the Jackson JSON mapper the JSON
+ * endpoints use, for a page of tasks as {@code GET /tasks} returns it. Run with
+ * {@code mvn -Pload-test test -Dtest=TaskCborCodecBenchmark}. Each direction runs a few warm-up
+ * rounds, then the median round of each format is compared; CBOR must not be slower than JSON.
+ */
+@Tag("load")
+class TaskCborCodecBenchmark {
+
+    private static final int TASKS = 1_000;
+    private static final int PAGES_PER_ROUND = 500;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int ROUNDS = 9;
+    private static final TypeReference<List<Task>> TASK_LIST = new TypeReference<>() {
+    };
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final List<Task> tasks = new ArrayList<>();
+
+    {
+        Instant now = Instant.parse("2025-01-15T10:30:00Z");
+        for (long id = 1; id <= TASKS; id++) {
+            Task task = new Task(id, "Task " + id, "Description of task " + id, Priority.values()[(int) (id % 3)],
+                    Status.PENDING, false, now.plusMillis(id), now.plusMillis(id));
+            task.setRetryPolicy(new RetryPolicy(3, 1000, 300_000));
+            task.setTenantId("default");
+            tasks.add(task);
+        }
+    }
+
+    @Test
+    void encode_cborIsNotSlowerThanJson() throws IOException {
+        double cbor = measure(() -> {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(64 * 1024);
+            TaskCborCodec.encodeList(tasks, out);
+            return out.size();
+        });
+        double json = measure(() -> jsonMapper.writeValueAsBytes(tasks).length);
+
+        report("encode", cbor, json);
+        assertThat(cbor).isLessThanOrEqualTo(json);
+    }
+
+    @Test
+    void decode_cborIsNotSlowerThanJson() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TaskCborCodec.encodeList(tasks, out);
+        byte[] cborBytes = out.toByteArray();
+        byte[] jsonBytes = jsonMapper.writeValueAsBytes(tasks);
+
+        double cbor = measure(() -> TaskCborCodec.decodeList(cborBytes).size());
+        double json = measure(() -> jsonMapper.readValue(jsonBytes, TASK_LIST).size());
+
+        report("decode", cbor, json);
+        assertThat(cbor).isLessThanOrEqualTo(json);
+    }
+
+    private static void report(String direction, double cborNanos, double jsonNanos) {
+        System.out.printf("%s %d tasks: CBOR %.1f us/page (%.0f tasks/ms), JSON %.1f us/page (%.0f tasks/ms)%n",
+                direction, TASKS, cborNanos / 1_000, TASKS * 1e6 / cborNanos,
+                jsonNanos / 1_000, TASKS * 1e6 / jsonNanos);
+    }
+
+    /** Returns the median nanoseconds per page. */
+    private static double measure(Page page) throws IOException {
+        double[] rounds = new double[ROUNDS];
+        long sink = 0;
+        for (int round = -WARMUP_ROUNDS; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < PAGES_PER_ROUND; i++) {
+                sink += page.run();
+            }
+            long elapsed = System.nanoTime() - start;
+            if (round >= 0) {
+                rounds[round] = (double) elapsed / PAGES_PER_ROUND;
+            }
+        }
+        // Keeps the loop from being optimised away.
+        assertThat(sink).isPositive();
+        Arrays.sort(rounds);
+        return rounds[ROUNDS / 2];
+    }
+
+    @FunctionalInterface
+    private interface Page {
+        long run() throws IOException;
+    }
+}
@@ -0,0 +1,142 @@
+package com.taskscheduler.taskscheduler.codec;
+
+import com.taskscheduler.taskscheduler.model.Priority;
+import com.taskscheduler.taskscheduler.model.Recurrence;
+import com.taskscheduler.taskscheduler.model.RetryPolicy;
+import com.taskscheduler.taskscheduler.model.Status;
+import com.taskscheduler.taskscheduler.model.Task;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskCborCodecTest {
+
+    @Test
+    void encode_roundTripsAllFields() throws IOException {
+        Task task = new Task(42L, "Implement login API", "Add JWT auth — ünïcødé 🚀", Priority.HIGH,
+                Status.IN_PROGRESS, false, Instant.parse("2025-01-15T10:30:00Z"), Instant.parse("2025-01-15T10:31:00.123Z"));
+        task.setDependsOn(List.of(1L, 300L, 70_000L));
+        task.setRecurrence(new Recurrence("0 0 2 * * *", null));
+        task.setRecurrenceOf(7L);
+        task.setScheduledAt(Instant.parse("2025-01-16T02:00:00Z"));
+        task.setRetryPolicy(new RetryPolicy(5, 1000, 60_000));
+        task.setAttempts(2);
+        task.setNextRetryAt(Instant.parse("2025-01-15T10:32:00Z"));
+        task.setDeadLettered(true);
+        task.setLeaseOwner("worker-1");
+        task.setLeaseExpiresAt(Instant.parse("2025-01-15T10:40:00Z"));
+        task.setDueAt(Instant.parse("2025-01-17T00:00:00Z"));
+        task.setTenantId("team-a");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TaskCborCodec.encode(task, out);
+        Task decoded = TaskCborCodec.decode(out.toByteArray());
+
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(task);
+    }
+
+    @Test
+    void encode_omitsNullFields() throws IOException {
+        Task task = new Task(1L, "t", null, Priority.LOW, Status.PENDING, false, null, null);
+        task.setDependsOn(null);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TaskCborCodec.encode(task, out);
+        Task decoded = TaskCborCodec.decode(out.toByteArray());
+
+        assertThat(decoded.getDescription()).isNull();
+        assertThat(decoded.getCreatedAt()).isNull();
+        assertThat(decoded.getTitle()).isEqualTo("t");
+    }
+
+    @Test
+    void encodeList_tenThousandTasks_isSmallerThanJson() throws IOException {
+        List<Task> tasks = new ArrayList<>();
+        Instant now = Instant.parse("2025-01-15T10:30:00Z");
+        for (long id = 1; id <= 10_000; id++) {
+            Task task = new Task(id, "Task " + id, "Description of task " + id, Priority.values()[(int) (id % 3)],
+                    Status.PENDING, false, now.plusMillis(id), now.plusMillis(id));
+            task.setRetryPolicy(new RetryPolicy(3, 1000, 300_000));
+            tasks.add(task);
+        }
+
+        ByteArrayOutputStream cbor = new ByteArrayOutputStream();
+        TaskCborCodec.encodeList(tasks, cbor);
+        byte[] json = JsonMapper.builder().build().writeValueAsBytes(tasks);
+
+        assertThat(TaskCborCodec.decodeList(cbor.toByteArray())).hasSize(10_000);
+        assertThat(cbor.size()).isLessThan(json.length / 3);
+    }
+
+    @Test
+    void decode_skipsUnknownFields() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CborWriter writer = new CborWriter(out, 256);
+        writer.writeMapHeader(5);
+        writer.writeLong(1);
+        writer.writeLong(42);
+        // Unknown fields of every shape the writer can produce, nested ones included.
+        writer.writeLong(99);
+        writer.writeMapHeader(2);
+        writer.writeLong(1);
+        writer.writeArrayHeader(2);
+        writer.writeString("a");
+        writer.writeNull();
+        writer.writeLong(2);
+        writer.writeLong(-70_000);
+        writer.writeLong(100);
+        writer.writeBoolean(true);
+        writer.writeLong(2);
+        writer.writeString("kept");
+        writer.writeLong(13);
+        writer.writeMapHeader(2);
+        writer.writeLong(4);
+        writer.writeString("jitter");
+        writer.writeLong(1);
+        writer.writeLong(5);
+        writer.flush();
+
+        Task decoded = TaskCborCodec.decode(out.toByteArray());
+
+        assertThat(decoded.getId()).isEqualTo(42L);
+        assertThat(decoded.getTitle()).isEqualTo("kept");
+        assertThat(decoded.getRetryPolicy().getMaxAttempts()).isEqualTo(5);
+    }
+
+    @Test
+    void decode_rejectsUnknownEnumOrdinal() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CborWriter writer = new CborWriter(out, 64);
+        writer.writeMapHeader(1);
+        writer.writeLong(5);
+        writer.writeLong(Status.values().length);
+        writer.flush();
+
+        assertThatThrownBy(() -> TaskCborCodec.decode(out.toByteArray()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Status ordinal");
+    }
+
+    @Test
+    void decode_rejectsTruncatedInput() throws IOException {
+        Task task = new Task(1L, "truncated", "description", Priority.LOW, Status.PENDING, false, null, null);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TaskCborCodec.encode(task, out);
+        byte[] full = out.toByteArray();
+
+        for (int length = 0; length < full.length; length++) {
+            byte[] truncated = Arrays.copyOf(full, length);
+            assertThatThrownBy(() -> TaskCborCodec.decode(truncated))
+                    .isInstanceOf(IllegalStateException.class);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.taskscheduler.taskscheduler.config;
+
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The {@code faststart} profile initializes beans lazily; the JFR events must still be
+ * registered at startup. The context is closed afterwards so the events are unregistered
+ * again for the other tests.
+ */
+@SpringBootTest(properties = "taskscheduler.jfr.enabled=true")
+@ActiveProfiles("faststart")
+@DirtiesContext
+class JfrConfigFastStartTest {
+
+    @Test
+    void eventsAreRegisteredUnderLazyInitialization() {
+        assertThat(FlightRecorder.getFlightRecorder().getEventTypes())
+                .extracting(EventType::getName)
+                .contains("taskscheduler.TaskOperation", "taskscheduler.StatusTransition",
+                        "taskscheduler.RepositoryOperation", "taskscheduler.RepositoryScan");
+    }
+}
@@ -0,0 +1,88 @@
+package com.taskscheduler.taskscheduler.config;
+
+import com.taskscheduler.taskscheduler.jfr.StatusTransitionEvent;
+import com.taskscheduler.taskscheduler.jfr.TaskOperationEvent;
+import com.taskscheduler.taskscheduler.model.Priority;
+import com.taskscheduler.taskscheduler.model.Status;
+import com.taskscheduler.taskscheduler.model.Task;
+import com.taskscheduler.taskscheduler.repository.InMemoryTaskRepository;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JfrConfigTest {
+
+    private final JfrConfig jfrConfig = new JfrConfig(true);
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    void tearDown() {
+        jfrConfig.unregisterEvents();
+    }
+
+    @Test
+    void registeredEvents_areRecordedWithBundledSettings() throws Exception {
+        jfrConfig.registerEvents();
+
+        List<RecordedEvent> events = record();
+
+        assertThat(events).extracting(e -> e.getEventType().getName()).contains(
+                "taskscheduler.TaskOperation", "taskscheduler.StatusTransition", "taskscheduler.RepositoryScan");
+        RecordedEvent transition = events.stream()
+                .filter(e -> e.getEventType().getName().equals("taskscheduler.StatusTransition"))
+                .findFirst().orElseThrow();
+        assertThat(transition.getString("from")).isEqualTo("PENDING");
+        assertThat(transition.getString("to")).isEqualTo("IN_PROGRESS");
+        RecordedEvent scan = events.stream()
+                .filter(e -> e.getEventType().getName().equals("taskscheduler.RepositoryScan"))
+                .findFirst().orElseThrow();
+        assertThat(scan.getInt("scanned")).isEqualTo(2);
+        assertThat(scan.getInt("returned")).isEqualTo(1);
+        assertThat(scan.getStackTrace()).isNotNull();
+    }
+
+    @Test
+    void unregisteredEvents_areNotRecorded() throws Exception {
+        assertThat(record()).noneMatch(e -> e.getEventType().getName().startsWith("taskscheduler."));
+    }
+
+    @Test
+    void disabled_registersNothing() throws Exception {
+        new JfrConfig(false).registerEvents();
+
+        assertThat(record()).noneMatch(e -> e.getEventType().getName().startsWith("taskscheduler."));
+    }
+
+    private List<RecordedEvent> record() throws Exception {
+        Path file = tempDir.resolve("test.jfr");
+        try (Recording recording = new Recording(Configuration.create(Path.of("jfr", "taskscheduler.jfc")))) {
+            recording.start();
+            InMemoryTaskRepository repository = new InMemoryTaskRepository();
+            Instant now = Instant.now();
+            Task kept = new Task(null, "kept", null, Priority.LOW, Status.PENDING, false, now, now);
+            kept.setTenantId("default");
+            repository.save(kept);
+            Task gone = new Task(null, "gone", null, Priority.LOW, Status.PENDING, true, now, now);
+            gone.setTenantId("default");
+            repository.save(gone);
+            repository.findAllActive("default");
+            TaskOperationEvent.start("create").finish(1L);
+            StatusTransitionEvent.emit(1L, Status.PENDING, Status.IN_PROGRESS, "claim");
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file);
+    }
+}
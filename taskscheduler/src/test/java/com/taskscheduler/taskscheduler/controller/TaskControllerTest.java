@@ -1,7 +1,15 @@
 package com.taskscheduler.taskscheduler.controller;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectMapper;
+import com.taskscheduler.taskscheduler.codec.TaskCborCodec;
+import com.taskscheduler.taskscheduler.dto.FieldChange;
+import com.taskscheduler.taskscheduler.dto.RetryQueueStats;
+import com.taskscheduler.taskscheduler.dto.TaskHistory;
+import com.taskscheduler.taskscheduler.dto.TaskHistoryEntry;
+import com.taskscheduler.taskscheduler.dto.TaskStatistics;
+import com.taskscheduler.taskscheduler.exception.IdempotencyKeyReusedException;
 import com.taskscheduler.taskscheduler.exception.TaskNotFoundException;
+import com.taskscheduler.taskscheduler.model.HistoryEvent;
 import com.taskscheduler.taskscheduler.model.Priority;
 import com.taskscheduler.taskscheduler.model.Status;
 import com.taskscheduler.taskscheduler.model.Task;
@@ -9,18 +17,24 @@ import com.taskscheduler.taskscheduler.exception.GlobalExceptionHandler;
 import com.taskscheduler.taskscheduler.service.TaskService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
-import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -36,14 +50,14 @@ class TaskControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
-    @MockBean
+    @MockitoBean
     private TaskService taskService;
 
     @Test
     void create_returns201AndTask() throws Exception {
         Task task = new Task(1L, "Implement login API", "Add JWT auth", Priority.HIGH, Status.PENDING, false,
                 Instant.parse("2025-01-15T10:30:00Z"), Instant.parse("2025-01-15T10:30:00Z"));
-        when(taskService.create(any())).thenReturn(task);
+        when(taskService.create(isNull(), any(), any(), any())).thenReturn(task);
 
         String body = "{\"title\":\"Implement login API\",\"description\":\"Add JWT auth\",\"priority\":\"HIGH\"}";
 
@@ -59,6 +73,35 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.deleted").value(false));
     }
 
+    @Test
+    void create_passesIdempotencyKeyToService() throws Exception {
+        Task task = new Task(1L, "Implement login API", null, Priority.HIGH, Status.PENDING, false,
+                Instant.now(), Instant.now());
+        when(taskService.create(isNull(), any(), eq("retry-123"), any())).thenReturn(task);
+
+        mockMvc.perform(post("/tasks")
+                        .header("Idempotency-Key", "retry-123")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Implement login API\",\"priority\":\"HIGH\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(1));
+
+        verify(taskService).create(isNull(), any(), eq("retry-123"), any());
+    }
+
+    @Test
+    void create_reusedIdempotencyKey_returns422() throws Exception {
+        when(taskService.create(isNull(), any(), eq("retry-123"), any()))
+                .thenThrow(new IdempotencyKeyReusedException("Idempotency-Key was already used with a different request body"));
+
+        mockMvc.perform(post("/tasks")
+                        .header("Idempotency-Key", "retry-123")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Implement login API\",\"priority\":\"LOW\"}"))
+                .andExpect(status().isUnprocessableContent())
+                .andExpect(jsonPath("$.error").value("IDEMPOTENCY_KEY_REUSED"));
+    }
+
     @Test
     void create_missingTitle_returns400() throws Exception {
         String body = "{\"description\":\"Add JWT auth\",\"priority\":\"HIGH\"}";
@@ -95,7 +138,7 @@ class TaskControllerTest {
     void getById_returns200AndTask() throws Exception {
         Task task = new Task(1L, "Implement login API", "Add JWT auth", Priority.HIGH, Status.PENDING, false,
                 Instant.now(), Instant.now());
-        when(taskService.getById(1L)).thenReturn(task);
+        when(taskService.getById(isNull(), eq(1L))).thenReturn(task);
 
         mockMvc.perform(get("/tasks/1"))
                 .andExpect(status().isOk())
@@ -103,9 +146,25 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.title").value("Implement login API"));
     }
 
+    @Test
+    void getById_acceptCbor_returnsBinaryTask() throws Exception {
+        Task task = new Task(1L, "Implement login API", "Add JWT auth", Priority.HIGH, Status.PENDING, false,
+                Instant.parse("2025-01-15T10:30:00Z"), Instant.parse("2025-01-15T10:30:00Z"));
+        when(taskService.getById(isNull(), eq(1L))).thenReturn(task);
+
+        byte[] body = mockMvc.perform(get("/tasks/1").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        Task decoded = TaskCborCodec.decode(body);
+        assertThat(decoded.getTitle()).isEqualTo("Implement login API");
+        assertThat(decoded.getCreatedAt()).isEqualTo(Instant.parse("2025-01-15T10:30:00Z"));
+    }
+
     @Test
     void getById_notFound_returns404() throws Exception {
-        when(taskService.getById(99L)).thenThrow(new TaskNotFoundException(99L));
+        when(taskService.getById(isNull(), eq(99L))).thenThrow(new TaskNotFoundException(99L));
 
         mockMvc.perform(get("/tasks/99"))
                 .andExpect(status().isNotFound())
@@ -117,7 +176,7 @@ class TaskControllerTest {
     void update_returns200AndTask() throws Exception {
         Task task = new Task(1L, "Implement login API v2", "Add OAuth 2.0", Priority.MEDIUM, Status.PENDING, false,
                 Instant.now(), Instant.now());
-        when(taskService.update(eq(1L), any())).thenReturn(task);
+        when(taskService.update(isNull(), eq(1L), any(), any())).thenReturn(task);
 
         String body = "{\"title\":\"Implement login API v2\",\"description\":\"Add OAuth 2.0\",\"priority\":\"MEDIUM\"}";
         mockMvc.perform(put("/tasks/1")
@@ -128,11 +187,28 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.priority").value("MEDIUM"));
     }
 
+    @Test
+    void update_attributesChangeToClientHeaderElseRemoteAddress() throws Exception {
+        Task task = new Task(1L, "t", null, Priority.LOW, Status.PENDING, false, Instant.now(), Instant.now());
+        when(taskService.update(isNull(), eq(1L), any(), any())).thenReturn(task);
+        String body = "{\"title\":\"t\",\"priority\":\"LOW\"}";
+
+        mockMvc.perform(put("/tasks/1").with(remoteAddr("10.0.0.9")).header("X-Client-Id", "client-7")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/tasks/1").with(remoteAddr("10.0.0.9"))
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk());
+
+        verify(taskService).update(isNull(), eq(1L), any(), eq("client-7"));
+        verify(taskService).update(isNull(), eq(1L), any(), eq("10.0.0.9"));
+    }
+
     @Test
     void softDelete_returns200AndTaskWithDeletedTrue() throws Exception {
         Task task = new Task(1L, "Implement login API", "Add JWT auth", Priority.HIGH, Status.PENDING, true,
                 Instant.now(), Instant.now());
-        when(taskService.softDelete(1L)).thenReturn(task);
+        when(taskService.softDelete(isNull(), eq(1L), any())).thenReturn(task);
 
         mockMvc.perform(delete("/tasks/1"))
                 .andExpect(status().isOk())
@@ -142,7 +218,7 @@ class TaskControllerTest {
     @Test
     void listActive_returns200AndArray() throws Exception {
         Task t1 = new Task(1L, "Task 1", null, Priority.HIGH, Status.PENDING, false, Instant.now(), Instant.now());
-        when(taskService.listActive()).thenReturn(List.of(t1));
+        when(taskService.listActive(isNull())).thenReturn(List.of(t1));
 
         mockMvc.perform(get("/tasks"))
                 .andExpect(status().isOk())
@@ -150,20 +226,166 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$[0].title").value("Task 1"));
     }
 
+    @Test
+    void listActive_acceptCbor_returnsBinaryArray() throws Exception {
+        Task t1 = new Task(1L, "Task 1", null, Priority.HIGH, Status.PENDING, false, Instant.now(), Instant.now());
+        when(taskService.listActive(isNull())).thenReturn(List.of(t1));
+
+        byte[] body = mockMvc.perform(get("/tasks").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(TaskCborCodec.decodeList(body)).extracting(Task::getTitle).containsExactly("Task 1");
+    }
+
     @Test
     void listActive_empty_returns200EmptyArray() throws Exception {
-        when(taskService.listActive()).thenReturn(List.of());
+        when(taskService.listActive(isNull())).thenReturn(List.of());
 
         mockMvc.perform(get("/tasks"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(0)));
     }
 
+    @Test
+    void listActive_overExpensiveBudget_returns429WithRetryAfter() throws Exception {
+        when(taskService.listActive(isNull())).thenReturn(List.of());
+
+        for (int i = 0; i < 10; i++) {
+            mockMvc.perform(get("/tasks").with(remoteAddr("10.0.0.1")))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(get("/tasks").with(remoteAddr("10.0.0.1")))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"))
+                .andExpect(jsonPath("$.error").value("TOO_MANY_REQUESTS"));
+    }
+
+    @Test
+    void listActive_clientHeaderDoesNotBypassBudget() throws Exception {
+        when(taskService.listActive(isNull())).thenReturn(List.of());
+
+        for (int i = 0; i < 10; i++) {
+            mockMvc.perform(get("/tasks").with(remoteAddr("10.0.0.2")).header("X-Client-Id", "rotating-" + i))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(get("/tasks").with(remoteAddr("10.0.0.2")).header("X-Client-Id", "rotating-new"))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void getById_passesTenantHeaderToService() throws Exception {
+        Task task = new Task(1L, "Team task", null, Priority.LOW, Status.PENDING, false, Instant.now(), Instant.now());
+        task.setTenantId("team-a");
+        when(taskService.getById("team-a", 1L)).thenReturn(task);
+
+        mockMvc.perform(get("/tasks/1").header("X-Tenant-Id", "team-a"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tenantId").value("team-a"));
+    }
+
+    @Test
+    void getById_invalidTenantHeader_returns400() throws Exception {
+        mockMvc.perform(get("/tasks/1").header("X-Tenant-Id", "team a!"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("BAD_REQUEST"));
+    }
+
+    @Test
+    void listOverdue_passesLimitAndReturnsTasks() throws Exception {
+        Task task = new Task(1L, "late", null, Priority.HIGH, Status.IN_PROGRESS, false, Instant.now(), Instant.now());
+        task.setDueAt(Instant.now().minusSeconds(60));
+        when(taskService.listOverdue(isNull(), eq(5))).thenReturn(List.of(task));
+
+        mockMvc.perform(get("/tasks/overdue").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].dueAt").exists());
+    }
+
+    @Test
+    void listActive_overTenantBudget_returns429ForThatTenantOnly() throws Exception {
+        when(taskService.listActive(any())).thenReturn(List.of());
+
+        // Eight client addresses each stay within their own burst of 10, so the first 429 comes
+        // from the tenant's shared burst of 40.
+        MvcResult rejected = null;
+        for (int i = 0; i < 80 && rejected == null; i++) {
+            MvcResult result = mockMvc.perform(get("/tasks").header("X-Tenant-Id", "bulk")
+                    .with(remoteAddr("10.0.1." + (i % 8)))).andReturn();
+            if (result.getResponse().getStatus() == 429) {
+                rejected = result;
+            }
+        }
+        assertThat(rejected).isNotNull();
+        assertThat(rejected.getResponse().getContentAsString()).contains("tenant bulk");
+        mockMvc.perform(get("/tasks").header("X-Tenant-Id", "quiet").with(remoteAddr("10.0.2.1")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void claim_completesAsynchronously() throws Exception {
+        Task task = new Task(1L, "t", null, Priority.MEDIUM, Status.IN_PROGRESS, false, Instant.now(), Instant.now());
+        when(taskService.claim(isNull(), eq(1), eq(30_000L), eq(20_000L), eq("worker-1"), eq("worker-1")))
+                .thenReturn(CompletableFuture.completedFuture(List.of(task)));
+
+        MvcResult started = mockMvc.perform(post("/tasks/claim").header("X-Worker-Id", "worker-1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1));
+    }
+
+    @Test
+    void statistics_returns200AndCounts() throws Exception {
+        TaskStatistics stats = new TaskStatistics();
+        stats.setActiveTasks(3);
+        stats.setByStatus(Map.of(Status.PENDING, 2L, Status.COMPLETED, 1L));
+        when(taskService.statistics(isNull())).thenReturn(stats);
+
+        mockMvc.perform(get("/tasks/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.activeTasks").value(3))
+                .andExpect(jsonPath("$.byStatus.PENDING").value(2));
+    }
+
+    @Test
+    void statisticsAndRetries_areScopedToTheTenantHeader() throws Exception {
+        TaskStatistics stats = new TaskStatistics();
+        stats.setActiveTasks(5);
+        when(taskService.statistics("team-a")).thenReturn(stats);
+        when(taskService.retryStats("team-a")).thenReturn(new RetryQueueStats(2, 1, 4, 250));
+
+        mockMvc.perform(get("/tasks/stats").header("X-Tenant-Id", "team-a"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.activeTasks").value(5));
+        mockMvc.perform(get("/tasks/retries").header("X-Tenant-Id", "team-a"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.queueDepth").value(2))
+                .andExpect(jsonPath("$.deadLetterCount").value(1));
+    }
+
+    @Test
+    void history_returns200AndEntries() throws Exception {
+        TaskHistoryEntry entry = new TaskHistoryEntry(Instant.now(), HistoryEvent.STATUS_CHANGED, "worker-1",
+                List.of(new FieldChange("status", Status.PENDING, Status.IN_PROGRESS)));
+        when(taskService.history(isNull(), eq(1L))).thenReturn(new TaskHistory(1L, false, List.of(entry)));
+
+        mockMvc.perform(get("/tasks/1/history"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.entries", hasSize(1)))
+                .andExpect(jsonPath("$.entries[0].actor").value("worker-1"))
+                .andExpect(jsonPath("$.entries[0].changes[0].from").value("PENDING"))
+                .andExpect(jsonPath("$.entries[0].changes[0].to").value("IN_PROGRESS"));
+    }
+
     @Test
     void updateStatus_returns200AndUpdatedStatus() throws Exception {
         Task task = new Task(1L, "Implement login API", "Add JWT auth", Priority.HIGH, Status.IN_PROGRESS, false,
                 Instant.now(), Instant.now());
-        when(taskService.updateStatus(eq(1L), any())).thenReturn(task);
+        when(taskService.updateStatus(isNull(), eq(1L), any(), any())).thenReturn(task);
 
         mockMvc.perform(patch("/tasks/1/status")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -171,4 +393,11 @@ class TaskControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.status").value("IN_PROGRESS"));
     }
+
+    private static RequestPostProcessor remoteAddr(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
 }
@@ -0,0 +1,71 @@
+package com.taskscheduler.taskscheduler.loadtest;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end load test of the real HTTP stack. Excluded from the normal build; run with
+ * {@code mvn -Pload-test test}. Tunable with system properties:
+ * <ul>
+ *     <li>{@code loadtest.workloads} - comma-separated {@link Workload} names (default: all)</li>
+ *     <li>{@code loadtest.rate} - arrival rate in requests/second, overriding each workload's default</li>
+ *     <li>{@code loadtest.duration} / {@code loadtest.warmup} - seconds measured / discarded per workload</li>
+ *     <li>{@code loadtest.seed-tasks} - tasks created before the first workload</li>
+ * </ul>
+ * Rate limiting is disabled so the numbers reflect the stack rather than the limiter.
+ * Corrected percentile distributions are written to {@code target/load-test/*.hgrm}.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"taskscheduler.ratelimit.enabled=false", "logging.level.root=WARN"})
+class ApiLoadTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void driveWorkloads() throws Exception {
+        Duration duration = Duration.ofSeconds(Integer.getInteger("loadtest.duration", 30));
+        Duration warmup = Duration.ofSeconds(Integer.getInteger("loadtest.warmup", 10));
+        Integer rateOverride = Integer.getInteger("loadtest.rate");
+
+        try (LoadGenerator generator = new LoadGenerator(URI.create("http://localhost:" + port))) {
+            generator.seed(Integer.getInteger("loadtest.seed-tasks", 1000));
+            for (Workload workload : workloads()) {
+                int rate = rateOverride != null ? rateOverride : workload.defaultRate();
+                if (!warmup.isZero()) {
+                    generator.run(workload, rate, warmup);
+                }
+                long storeSize = generator.stat("activeTasks");
+                LoadGenerator.Result result = generator.run(workload, rate, duration);
+                System.out.printf("%nstore size at start: %d active tasks", storeSize);
+                result.print(System.out);
+                result.writeDistribution(Path.of("target", "load-test"));
+                // Timeouts and refused connections under overload are reported, not failed on.
+                assertThat(result.serverErrors()).as("5xx responses in %s", workload).isZero();
+            }
+        }
+    }
+
+    private static List<Workload> workloads() {
+        String names = System.getProperty("loadtest.workloads");
+        if (names == null || names.isBlank()) {
+            return List.of(Workload.values());
+        }
+        List<Workload> selected = new ArrayList<>();
+        for (String name : names.split(",")) {
+            selected.add(Workload.valueOf(name.trim().toUpperCase()));
+        }
+        return selected;
+    }
+}
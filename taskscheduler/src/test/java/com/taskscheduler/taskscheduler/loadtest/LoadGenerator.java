@@ -0,0 +1,324 @@
+package com.taskscheduler.taskscheduler.loadtest;
+
+import com.taskscheduler.taskscheduler.loadtest.Workload.Operation;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongConsumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Open-model HTTP load generator for the /tasks API. Requests are issued on a fixed schedule
+ * at a constant arrival rate whether or not earlier responses have come back, so a slow
+ * server builds up a queue exactly as it would under real traffic. Latency is measured from
+ * each request's intended start time, which corrects for coordinated omission: time a
+ * request spends waiting because the generator fell behind counts against the server. The
+ * uncorrected service time, measured from when the request was actually sent, is kept
+ * alongside for comparison.
+ */
+final class LoadGenerator implements AutoCloseable {
+
+    private static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final int KNOWN_ID_SLOTS = 4096;
+
+    private final URI baseUri;
+    private final String tenantId;
+    private final ExecutorService callbacks = Executors.newFixedThreadPool(4, daemonThreads());
+    private final HttpClient client;
+    private final AtomicLongArray knownIds = new AtomicLongArray(KNOWN_ID_SLOTS);
+    private final AtomicLong knownIdCount = new AtomicLong();
+    private final Queue<Long> claimedIds = new ConcurrentLinkedQueue<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    LoadGenerator(URI baseUri) {
+        this(baseUri, null);
+    }
+
+    /** Sends every request as {@code tenantId} (X-Tenant-Id), or as the default tenant if null. */
+    LoadGenerator(URI baseUri, String tenantId) {
+        this.baseUri = baseUri;
+        this.tenantId = tenantId;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(callbacks)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    /** Creates tasks one at a time so GET, UPDATE and LIST have something to work on. */
+    void seed(int tasks) throws IOException, InterruptedException {
+        for (int i = 0; i < tasks; i++) {
+            HttpResponse<String> response = client.send(build(Operation.CREATE, null), HttpResponse.BodyHandlers.ofString());
+            rememberIds(response.body(), this::rememberKnownId);
+        }
+    }
+
+    /** Reads a single numeric field from GET /tasks/stats, which reports on this generator's tenant. */
+    long stat(String field) throws IOException, InterruptedException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve("/tasks/stats")).GET();
+        if (tenantId != null) {
+            builder.header("X-Tenant-Id", tenantId);
+        }
+        HttpRequest request = builder.build();
+        String body = client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+        Matcher matcher = Pattern.compile("\"" + field + "\":(\\d+)").matcher(body);
+        return matcher.find() ? Long.parseLong(matcher.group(1)) : -1;
+    }
+
+    /**
+     * Drives {@code workload} at {@code ratePerSecond} for {@code duration} and waits for all
+     * outstanding responses.
+     */
+    Result run(Workload workload, int ratePerSecond, Duration duration) throws InterruptedException {
+        Result result = new Result(workload, ratePerSecond, duration);
+        AtomicInteger inFlight = new AtomicInteger();
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        for (long i = 0; ; i++) {
+            long intended = start + i * intervalNanos;
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            // When the generator itself falls behind it sends immediately but keeps the
+            // intended time, so the backlog is charged to the measured latency.
+            dispatch(workload.pick(random.nextInt(100)), intended, result, inFlight);
+        }
+
+        long drainDeadline = System.nanoTime() + REQUEST_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        result.elapsedNanos = System.nanoTime() - start;
+        return result;
+    }
+
+    private void dispatch(Operation operation, long intendedNanos, Result result, AtomicInteger inFlight) {
+        Long claimed = null;
+        if (operation == Operation.COMPLETE) {
+            claimed = claimedIds.poll();
+            if (claimed == null) {
+                operation = Operation.CLAIM;
+            }
+        }
+        Operation op = operation;
+        HttpRequest request = build(op, claimed);
+        inFlight.incrementAndGet();
+        long sentNanos = System.nanoTime();
+        if (op == Operation.CREATE || op == Operation.CLAIM) {
+            client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, error) -> {
+                long doneNanos = System.nanoTime();
+                result.record(op, doneNanos - intendedNanos, doneNanos - sentNanos,
+                        error != null ? -1 : response.statusCode());
+                if (response != null && response.statusCode() < 300) {
+                    rememberIds(response.body(), op == Operation.CREATE ? this::rememberKnownId : claimedIds::add);
+                }
+                inFlight.decrementAndGet();
+            });
+            return;
+        }
+        // Other bodies are read to the end and dropped: buffering a large list response as a
+        // String would make the generator's own garbage part of the server's measured latency.
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+            long doneNanos = System.nanoTime();
+            result.record(op, doneNanos - intendedNanos, doneNanos - sentNanos,
+                    error != null ? -1 : response.statusCode());
+            inFlight.decrementAndGet();
+        });
+    }
+
+    private HttpRequest build(Operation operation, Long claimedId) {
+        HttpRequest.Builder builder;
+        switch (operation) {
+            case CREATE -> builder = HttpRequest.newBuilder(baseUri.resolve("/tasks"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(taskJson("load-" + sequence.incrementAndGet())));
+            case GET -> builder = HttpRequest.newBuilder(baseUri.resolve("/tasks/" + randomKnownId())).GET();
+            case UPDATE -> builder = HttpRequest.newBuilder(baseUri.resolve("/tasks/" + randomKnownId()))
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(taskJson("updated-" + sequence.incrementAndGet())));
+            case CLAIM -> builder = HttpRequest.newBuilder(baseUri.resolve("/tasks/claim?max=1&waitMs=0&leaseMs=60000"))
+                    .header("X-Worker-Id", "load-generator")
+                    .POST(HttpRequest.BodyPublishers.noBody());
+            case COMPLETE -> builder = HttpRequest.newBuilder(baseUri.resolve("/tasks/" + claimedId + "/status"))
+                    .header("Content-Type", "application/json")
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"status\":\"COMPLETED\"}"));
+            case LIST -> builder = HttpRequest.newBuilder(baseUri.resolve("/tasks")).GET();
+            default -> throw new IllegalArgumentException("Unknown operation " + operation);
+        }
+        if (tenantId != null) {
+            builder.header("X-Tenant-Id", tenantId);
+        }
+        return builder.timeout(REQUEST_TIMEOUT).build();
+    }
+
+    private static String taskJson(String title) {
+        return "{\"title\":\"" + title + "\",\"description\":\"generated by the load harness\",\"priority\":\""
+                + (title.hashCode() % 3 == 0 ? "HIGH" : "MEDIUM") + "\"}";
+    }
+
+    private long randomKnownId() {
+        long count = Math.min(knownIdCount.get(), KNOWN_ID_SLOTS);
+        return count == 0 ? 1 : knownIds.get(ThreadLocalRandom.current().nextInt((int) count));
+    }
+
+    // Recently created ids live in a fixed ring so GET and UPDATE hit a bounded, recent set.
+    private void rememberKnownId(long id) {
+        knownIds.set((int) (knownIdCount.getAndIncrement() % KNOWN_ID_SLOTS), id);
+    }
+
+    private static void rememberIds(String body, LongConsumer target) {
+        Matcher matcher = ID.matcher(body);
+        while (matcher.find()) {
+            target.accept(Long.parseLong(matcher.group(1)));
+        }
+    }
+
+    @Override
+    public void close() {
+        callbacks.shutdownNow();
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "load-callback-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /** Latency histograms and response counts for one workload run. */
+    static final class Result {
+        private final Workload workload;
+        private final int targetRate;
+        private final Duration duration;
+        private final Histogram responseTime = histogram();
+        private final Histogram serviceTime = histogram();
+        private final Map<Operation, Histogram> byOperation = new EnumMap<>(Operation.class);
+        private final LongAdder success = new LongAdder();
+        private final LongAdder clientErrors = new LongAdder();
+        private final LongAdder throttled = new LongAdder();
+        private final LongAdder serverErrors = new LongAdder();
+        private final LongAdder transportErrors = new LongAdder();
+        private long elapsedNanos;
+
+        private Result(Workload workload, int targetRate, Duration duration) {
+            this.workload = workload;
+            this.targetRate = targetRate;
+            this.duration = duration;
+            for (Operation operation : Operation.values()) {
+                byOperation.put(operation, histogram());
+            }
+        }
+
+        private void record(Operation operation, long responseNanos, long serviceNanos, int status) {
+            long responseMicros = Math.min(TimeUnit.NANOSECONDS.toMicros(responseNanos), HIGHEST_TRACKABLE_MICROS);
+            responseTime.recordValue(responseMicros);
+            serviceTime.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(serviceNanos), HIGHEST_TRACKABLE_MICROS));
+            byOperation.get(operation).recordValue(responseMicros);
+            if (status < 0) {
+                transportErrors.increment();
+            } else if (status >= 500) {
+                serverErrors.increment();
+            } else if (status >= 400) {
+                clientErrors.increment();
+                if (status == 429) {
+                    throttled.increment();
+                }
+            } else {
+                success.increment();
+            }
+        }
+
+        long serverErrors() {
+            return serverErrors.sum();
+        }
+
+        long throttled() {
+            return throttled.sum();
+        }
+
+        long transportErrors() {
+            return transportErrors.sum();
+        }
+
+        /** p99 of the corrected response time, in milliseconds. */
+        double p99Millis() {
+            return responseTime.getValueAtPercentile(99) / 1000.0;
+        }
+
+        void print(PrintStream out) {
+            long total = responseTime.getTotalCount();
+            out.printf("%n== %s: target %d req/s for %ds, achieved %.0f req/s ==%n", workload, targetRate,
+                    duration.toSeconds(), total * 1e9 / elapsedNanos);
+            out.printf("responses: %d ok, %d 4xx (%d of them 429), %d 5xx, %d transport errors%n",
+                    success.sum(), clientErrors.sum(), throttled.sum(), serverErrors.sum(), transportErrors.sum());
+            out.printf("%-22s %8s %8s %8s %8s %8s %8s  (ms)%n", "", "count", "p50", "p90", "p99", "p99.9", "max");
+            row(out, "response time (CO)", responseTime);
+            row(out, "service time (raw)", serviceTime);
+            byOperation.forEach((operation, histogram) -> {
+                if (histogram.getTotalCount() > 0) {
+                    row(out, "  " + operation, histogram);
+                }
+            });
+        }
+
+        /** Writes the full corrected percentile distribution for plotting with HdrHistogram tools. */
+        void writeDistribution(Path directory) throws IOException {
+            writeDistribution(directory, workload.name().toLowerCase());
+        }
+
+        void writeDistribution(Path directory, String name) throws IOException {
+            Files.createDirectories(directory);
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(name + ".hgrm")))) {
+                responseTime.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+
+        private static void row(PrintStream out, String label, Histogram histogram) {
+            out.printf("%-22s %8d %8.2f %8.2f %8.2f %8.2f %8.2f%n", label, histogram.getTotalCount(),
+                    histogram.getValueAtPercentile(50) / 1000.0,
+                    histogram.getValueAtPercentile(90) / 1000.0,
+                    histogram.getValueAtPercentile(99) / 1000.0,
+                    histogram.getValueAtPercentile(99.9) / 1000.0,
+                    histogram.getMaxValue() / 1000.0);
+        }
+
+        private static Histogram histogram() {
+            return new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.taskscheduler.taskscheduler.loadtest;
+
+import com.taskscheduler.taskscheduler.dto.CreateTaskRequest;
+import com.taskscheduler.taskscheduler.model.Priority;
+import com.taskscheduler.taskscheduler.service.TaskService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tenant isolation: measures a quiet tenant's {@link Workload#READ_HEAVY} p99 alone, then while
+ * an unthrottled noisy tenant floods list and create requests. The contended p99 must stay under
+ * {@code loadtest.max-quiet-p99-ms} (100 ms). Run with
+ * {@code mvn -Pload-test test -Dtest=NoisyNeighbourLoadTest}.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"logging.level.root=WARN",
+                "taskscheduler.ratelimit.cheap.permits-per-second=100000",
+                "taskscheduler.ratelimit.cheap.burst=100000",
+                "taskscheduler.ratelimit.expensive.permits-per-second=100000",
+                "taskscheduler.ratelimit.expensive.burst=100000",
+                "taskscheduler.ratelimit.shed.target-latency=1m",
+                "taskscheduler.tenant.cheap.permits-per-second=200",
+                "taskscheduler.tenant.cheap.burst=200",
+                "taskscheduler.tenant.expensive.permits-per-second=1",
+                "taskscheduler.tenant.expensive.burst=1"})
+class NoisyNeighbourLoadTest {
+
+    private static final String QUIET = "quiet";
+    private static final String NOISY = "noisy";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Test
+    void quietTenantIsIsolatedFromNoisyTenant() throws Exception {
+        Duration duration = Duration.ofSeconds(Integer.getInteger("loadtest.duration", 20));
+        Duration warmup = Duration.ofSeconds(Integer.getInteger("loadtest.warmup", 5));
+        int quietRate = Integer.getInteger("loadtest.quiet-rate", 100);
+        int noisyRate = Integer.getInteger("loadtest.noisy-rate", 1000);
+        long maxQuietP99Millis = Long.getLong("loadtest.max-quiet-p99-ms", 100);
+        URI baseUri = URI.create("http://localhost:" + port);
+
+        // The noisy tenant's store is filled directly, since its own rate quota would throttle
+        // seeding over HTTP.
+        seedDirectly(NOISY, Integer.getInteger("loadtest.noisy-tasks", 5000));
+        ExecutorService background = Executors.newSingleThreadExecutor();
+        try (LoadGenerator quiet = new LoadGenerator(baseUri, QUIET);
+             LoadGenerator noisy = new LoadGenerator(baseUri, NOISY)) {
+            quiet.seed(100);
+            if (!warmup.isZero()) {
+                quiet.run(Workload.READ_HEAVY, quietRate, warmup);
+            }
+            LoadGenerator.Result alone = quiet.run(Workload.READ_HEAVY, quietRate, duration);
+
+            Future<LoadGenerator.Result> noise = background.submit(
+                    () -> noisy.run(Workload.LIST_HEAVY, noisyRate, duration));
+            LoadGenerator.Result contended = quiet.run(Workload.READ_HEAVY, quietRate, duration);
+            LoadGenerator.Result noisyResult = noise.get();
+
+            report("quiet tenant alone", alone, "quiet-alone");
+            report("quiet tenant next to noisy tenant", contended, "quiet-contended");
+            report("noisy tenant", noisyResult, "noisy");
+            System.out.printf("%nquiet p99: %.2f ms alone, %.2f ms contended%n",
+                    alone.p99Millis(), contended.p99Millis());
+
+            assertThat(contended.serverErrors()).as("5xx responses for the quiet tenant").isZero();
+            assertThat(contended.throttled()).as("quiet tenant requests rejected").isZero();
+            assertThat(noisyResult.throttled()).as("noisy tenant requests rejected by its quota").isPositive();
+            assertThat(noisyResult.transportErrors()).as("noisy tenant requests that got no response").isZero();
+            assertThat(contended.p99Millis()).as("quiet tenant p99 next to the noisy tenant, ms")
+                    .isLessThanOrEqualTo(maxQuietP99Millis);
+        } finally {
+            background.shutdownNow();
+        }
+    }
+
+    private void seedDirectly(String tenantId, int tasks) {
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setDescription("generated by the load harness");
+        request.setPriority(Priority.MEDIUM);
+        for (int i = 0; i < tasks; i++) {
+            request.setTitle("seed-" + i);
+            taskService.create(tenantId, request);
+        }
+    }
+
+    private static void report(String label, LoadGenerator.Result result, String file) throws Exception {
+        System.out.printf("%n-- %s --", label);
+        result.print(System.out);
+        result.writeDistribution(Path.of("target", "load-test"), file);
+    }
+}
@@ -0,0 +1,44 @@
+package com.taskscheduler.taskscheduler.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Request mixes driven by {@link LoadGenerator}, as percentages per operation, with the
+ * arrival rate each is run at unless {@code -Dloadtest.rate} overrides it.
+ */
+enum Workload {
+    CREATE_HEAVY(500, Map.of(Operation.CREATE, 70, Operation.GET, 20, Operation.UPDATE, 10)),
+    READ_HEAVY(1_000, Map.of(Operation.GET, 90, Operation.CREATE, 5, Operation.UPDATE, 5)),
+    STATUS_CHURN(500, Map.of(Operation.CREATE, 30, Operation.CLAIM, 35, Operation.COMPLETE, 35)),
+    LIST_HEAVY(10, Map.of(Operation.LIST, 50, Operation.GET, 30, Operation.CREATE, 20));
+
+    enum Operation {
+        CREATE, GET, UPDATE, CLAIM, COMPLETE, LIST
+    }
+
+    private final int defaultRate;
+    private final Operation[] lookup = new Operation[100];
+
+    Workload(int defaultRate, Map<Operation, Integer> weights) {
+        this.defaultRate = defaultRate;
+        int slot = 0;
+        for (Map.Entry<Operation, Integer> entry : new EnumMap<>(weights).entrySet()) {
+            for (int i = 0; i < entry.getValue(); i++) {
+                lookup[slot++] = entry.getKey();
+            }
+        }
+        if (slot != lookup.length) {
+            throw new IllegalStateException(name() + " weights must add up to 100");
+        }
+    }
+
+    int defaultRate() {
+        return defaultRate;
+    }
+
+    /** Maps a uniform value in [0, 100) to an operation. */
+    Operation pick(int percentile) {
+        return lookup[percentile];
+    }
+}
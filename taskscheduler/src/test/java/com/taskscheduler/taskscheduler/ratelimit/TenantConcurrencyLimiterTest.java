@@ -0,0 +1,45 @@
+package com.taskscheduler.taskscheduler.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TenantConcurrencyLimiterTest {
+
+    @Test
+    void tryAcquire_rejectsOnceTenantIsAtItsLimit() {
+        TenantConcurrencyLimiter limiter = new TenantConcurrencyLimiter(2);
+
+        TenantConcurrencyLimiter.Slots first = limiter.tryAcquire("noisy");
+        assertThat(first).isNotNull();
+        assertThat(limiter.tryAcquire("noisy")).isNotNull();
+        assertThat(limiter.tryAcquire("noisy")).isNull();
+        assertThat(limiter.tryAcquire("quiet")).isNotNull();
+
+        limiter.release(first);
+        assertThat(limiter.tryAcquire("noisy")).isNotNull();
+    }
+
+    @Test
+    void release_forgetsTenantsWithNothingInFlight() {
+        TenantConcurrencyLimiter limiter = new TenantConcurrencyLimiter(1);
+
+        limiter.release(limiter.tryAcquire("team-a"));
+
+        assertThat(limiter.inFlight("team-a")).isZero();
+        assertThat(limiter.tryAcquire("team-a")).isNotNull();
+        assertThat(limiter.tryAcquire("team-a")).isNull();
+    }
+
+    @Test
+    void zeroLimit_disablesTheCap() {
+        assertThat(new TenantConcurrencyLimiter(0).isEnabled()).isFalse();
+        assertThat(new TenantConcurrencyLimiter(1).isEnabled()).isTrue();
+    }
+
+    @Test
+    void constructor_rejectsNegativeLimit() {
+        assertThatThrownBy(() -> new TenantConcurrencyLimiter(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
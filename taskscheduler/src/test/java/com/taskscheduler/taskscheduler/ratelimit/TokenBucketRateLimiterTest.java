@@ -0,0 +1,127 @@
+package com.taskscheduler.taskscheduler.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+
+    @Test
+    void tryAcquire_allowsBurstThenRejects() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 3, 100, now::get);
+
+        assertThat(limiter.tryAcquire("client")).isZero();
+        assertThat(limiter.tryAcquire("client")).isZero();
+        assertThat(limiter.tryAcquire("client")).isZero();
+        assertThat(limiter.tryAcquire("client")).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    void refund_returnsThePermitWithoutExceedingTheBurst() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 2, 100, now::get);
+
+        assertThat(limiter.tryAcquire("client")).isZero();
+        assertThat(limiter.tryAcquire("client")).isZero();
+        limiter.refund("client");
+        assertThat(limiter.tryAcquire("client")).isZero();
+        assertThat(limiter.tryAcquire("client")).isPositive();
+
+        limiter.refund("client");
+        limiter.refund("client");
+        limiter.refund("client");
+        assertThat(limiter.tryAcquire("client")).isZero();
+        assertThat(limiter.tryAcquire("client")).isZero();
+        assertThat(limiter.tryAcquire("client")).isPositive();
+    }
+
+    @Test
+    void tryAcquire_refillsAtConfiguredRate() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 1, 100, now::get);
+
+        assertThat(limiter.tryAcquire("client")).isZero();
+        assertThat(limiter.tryAcquire("client")).isPositive();
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(limiter.tryAcquire("client")).isZero();
+    }
+
+    @Test
+    void tryAcquire_clientsHaveSeparateBuckets() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1, 100, now::get);
+
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isPositive();
+        assertThat(limiter.tryAcquire("b")).isZero();
+    }
+
+    @Test
+    void tryAcquire_overMaxClients_evictsFullBuckets() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 1, 2, now::get);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("b");
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        assertThat(limiter.tryAcquire("c")).isZero();
+        assertThat(limiter.trackedClients()).isEqualTo(2);
+    }
+
+    @Test
+    void tryAcquire_overMaxClientsAllBusy_rejectsNewClient() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 1, 2, now::get);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("b");
+
+        assertThat(limiter.tryAcquire("c")).isPositive();
+        assertThat(limiter.trackedClients()).isEqualTo(2);
+        assertThat(limiter.tryAcquire("a")).isPositive();
+    }
+
+    @Test
+    void tryAcquire_concurrentNewClients_neverExceedMaxClients() throws Exception {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1, 50);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        limiter.tryAcquire(thread + "-" + i);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(limiter.trackedClients()).isEqualTo(50);
+    }
+
+    @Test
+    void loadShedder_shedsOnlyExpensiveWhileSlow() {
+        AdaptiveLoadShedder shedder = new AdaptiveLoadShedder(TimeUnit.MILLISECONDS.toNanos(10), now::get);
+        for (int i = 0; i < 50; i++) {
+            shedder.recordLatency(TimeUnit.MILLISECONDS.toNanos(100));
+        }
+
+        assertThat(shedder.shouldShed(RateLimitTier.EXPENSIVE)).isTrue();
+        assertThat(shedder.shouldShed(RateLimitTier.CHEAP)).isFalse();
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        assertThat(shedder.shouldShed(RateLimitTier.EXPENSIVE)).isFalse();
+    }
+}
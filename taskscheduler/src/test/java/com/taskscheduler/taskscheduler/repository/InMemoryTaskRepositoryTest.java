@@ -0,0 +1,42 @@
+package com.taskscheduler.taskscheduler.repository;
+
+import com.taskscheduler.taskscheduler.model.Priority;
+import com.taskscheduler.taskscheduler.model.Status;
+import com.taskscheduler.taskscheduler.model.Task;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryTaskRepositoryTest {
+
+    private final InMemoryTaskRepository repository = new InMemoryTaskRepository();
+
+    @Test
+    void save_assignsIdsUniqueAcrossTenants() {
+        Task a = repository.save(task("team-a", "a"));
+        Task b = repository.save(task("team-b", "b"));
+
+        assertThat(a.getId()).isNotEqualTo(b.getId());
+        assertThat(repository.findById(b.getId())).containsSame(b);
+    }
+
+    @Test
+    void scopedLookups_doNotSeeOtherTenants() {
+        Task a = repository.save(task("team-a", "a"));
+        repository.save(task("team-b", "b"));
+
+        assertThat(repository.findById("team-b", a.getId())).isEmpty();
+        assertThat(repository.existsByIdAndNotDeleted("team-b", a.getId())).isFalse();
+        assertThat(repository.findById("team-a", a.getId())).containsSame(a);
+        assertThat(repository.findAllActive("team-a")).containsExactly(a);
+        assertThat(repository.findAllActive("team-c")).isEmpty();
+    }
+
+    private static Task task(String tenantId, String title) {
+        Task task = new Task(null, title, null, Priority.LOW, Status.PENDING, false, Instant.now(), Instant.now());
+        task.setTenantId(tenantId);
+        return task;
+    }
+}
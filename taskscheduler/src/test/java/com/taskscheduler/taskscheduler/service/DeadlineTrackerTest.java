@@ -0,0 +1,86 @@
+package com.taskscheduler.taskscheduler.service;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class DeadlineTrackerTest {
+
+    private static final String TENANT = "team-a";
+
+    private final ScheduledExecutorService taskTimer = mock(ScheduledExecutorService.class);
+    private final DeadlineTracker tracker = new DeadlineTracker(taskTimer, Duration.ofSeconds(1));
+
+    @Test
+    void watcher_reportsEachMissedDeadlineOnce() {
+        long now = System.currentTimeMillis();
+        tracker.track(TENANT, 1L, now - 1000);
+        tracker.track(TENANT, 2L, now + 3_600_000);
+        List<Long> reported = new ArrayList<>();
+        Runnable check = startWatcher(reported);
+
+        check.run();
+        check.run();
+
+        assertThat(reported).containsExactly(1L);
+        assertThat(tracker.overdue(TENANT, now, 10)).containsExactly(1L);
+    }
+
+    @Test
+    void track_movedDeadlineIsReportedAgain() {
+        long now = System.currentTimeMillis();
+        tracker.track(TENANT, 1L, now - 1000);
+        List<Long> reported = new ArrayList<>();
+        Runnable check = startWatcher(reported);
+        check.run();
+
+        tracker.track(TENANT, 1L, now - 500);
+        check.run();
+
+        assertThat(reported).containsExactly(1L, 1L);
+        assertThat(tracker.trackedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void untrack_removesFromListingAndWatcher() {
+        long now = System.currentTimeMillis();
+        tracker.track(TENANT, 1L, now - 1000);
+        tracker.untrack(TENANT, 1L);
+        List<Long> reported = new ArrayList<>();
+        startWatcher(reported).run();
+
+        assertThat(reported).isEmpty();
+        assertThat(tracker.overdue(TENANT, now, 10)).isEmpty();
+        assertThat(tracker.trackedCount()).isZero();
+    }
+
+    @Test
+    void overdue_listsOnlyTheTenantsTasks() {
+        long now = System.currentTimeMillis();
+        tracker.track(TENANT, 1L, now - 1000);
+        tracker.track("team-b", 2L, now - 2000);
+
+        assertThat(tracker.overdue(TENANT, now, 10)).containsExactly(1L);
+        assertThat(tracker.overdue("team-b", now, 10)).containsExactly(2L);
+        assertThat(tracker.overdue("team-c", now, 10)).isEmpty();
+        assertThat(tracker.trackedCount()).isEqualTo(2);
+    }
+
+    private Runnable startWatcher(List<Long> reported) {
+        tracker.startWatcher(reported::add);
+        ArgumentCaptor<Runnable> check = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskTimer).scheduleWithFixedDelay(check.capture(), anyLong(), anyLong(), eq(TimeUnit.MILLISECONDS));
+        return check.getValue();
+    }
+}
@@ -0,0 +1,93 @@
+package com.taskscheduler.taskscheduler.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Footprint and cost of {@link DependencyGraph} at millions of edges, each task depending on
+ * {@code benchmark.graph.fan-in} random earlier ones. Run with
+ * {@code mvn -Pload-test test -Dtest=DependencyGraphBenchmark}.
+ */
+@Tag("load")
+class DependencyGraphBenchmark {
+
+    private static final String TENANT = "default";
+
+    @Test
+    void millionsOfEdges_fitAndResolveQuickly() {
+        int tasks = Integer.getInteger("benchmark.graph.tasks", 1_000_000);
+        int fanIn = Integer.getInteger("benchmark.graph.fan-in", 3);
+        SplittableRandom random = new SplittableRandom(42);
+
+        long heapBefore = usedHeapAfterGc();
+        DependencyGraph graph = new DependencyGraph();
+        long start = System.nanoTime();
+        for (long id = 1; id <= tasks; id++) {
+            int edges = (int) Math.min(fanIn, id - 1);
+            Long[] dependsOn = new Long[edges];
+            for (int i = 0; i < edges; i++) {
+                dependsOn[i] = 1 + random.nextLong(id - 1);
+            }
+            graph.addTask(TENANT, id, List.of(dependsOn));
+        }
+        long buildNanos = System.nanoTime() - start;
+        long heapAfter = usedHeapAfterGc();
+        int edgeCount = graph.edgeCount();
+        double bytesPerEdge = (double) (heapAfter - heapBefore) / edgeCount;
+
+        // A dependency check as claim and status updates do it.
+        start = System.nanoTime();
+        long blocked = 0;
+        for (long id = 1; id <= tasks; id++) {
+            blocked += graph.unresolvedCount(id) > 0 ? 1 : 0;
+        }
+        double countNanos = (double) (System.nanoTime() - start) / tasks;
+
+        // Completing every task in id order releases each dependent exactly once.
+        start = System.nanoTime();
+        long released = 0;
+        for (long id = 1; id <= tasks; id++) {
+            released += graph.markCompleted(id).size();
+        }
+        double completeNanos = (double) (System.nanoTime() - start) / tasks;
+
+        // A rejected edge whose cycle check has to walk a deep part of the graph.
+        start = System.nanoTime();
+        boolean rejected = false;
+        try {
+            graph.replaceDependencies(TENANT, 1L, List.of((long) tasks));
+        } catch (RuntimeException e) {
+            rejected = true;
+        }
+        long cycleCheckMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        System.out.printf("%d tasks, %d edges: built in %d ms, %.1f bytes/edge retained%n",
+                tasks, edgeCount, TimeUnit.NANOSECONDS.toMillis(buildNanos), bytesPerEdge);
+        System.out.printf("unresolvedCount %.1f ns, markCompleted %.1f ns, deep cycle check %d ms%n",
+                countNanos, completeNanos, cycleCheckMillis);
+
+        assertThat(edgeCount).isGreaterThan(tasks * (fanIn - 1));
+        assertThat(blocked).isEqualTo(tasks - 1);
+        assertThat(released).isEqualTo(tasks - 1);
+        assertThat(rejected).isTrue();
+        assertThat(bytesPerEdge).as("retained bytes per edge, nodes included").isLessThan(100);
+        assertThat(countNanos).isLessThan(1_000);
+        assertThat(completeNanos).isLessThan(5_000);
+    }
+
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
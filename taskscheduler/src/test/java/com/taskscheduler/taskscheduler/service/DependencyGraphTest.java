@@ -0,0 +1,132 @@
+package com.taskscheduler.taskscheduler.service;
+
+import com.taskscheduler.taskscheduler.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DependencyGraphTest {
+
+    private static final String TENANT = "team-a";
+
+    private final DependencyGraph graph = new DependencyGraph();
+
+    @Test
+    void markCompleted_returnsDependentsWithNoUnresolvedLeft() {
+        graph.addTask(TENANT, 1L, List.of());
+        graph.addTask(TENANT, 2L, List.of());
+        graph.addTask(TENANT, 3L, List.of(1L, 2L));
+        graph.addTask(TENANT, 4L, List.of(1L));
+
+        assertThat(graph.markCompleted(1L)).containsExactly(4L);
+        assertThat(graph.unresolvedCount(3L)).isEqualTo(1);
+        assertThat(graph.markCompleted(2L)).containsExactly(3L);
+        assertThat(graph.unresolvedCount(3L)).isZero();
+    }
+
+    @Test
+    void addTask_onCompletedDependency_isNotBlocked() {
+        graph.addTask(TENANT, 1L, List.of());
+        graph.markCompleted(1L);
+        graph.addTask(TENANT, 2L, List.of(1L));
+
+        assertThat(graph.unresolvedCount(2L)).isZero();
+    }
+
+    @Test
+    void replaceDependencies_rejectsCycle() {
+        graph.addTask(TENANT, 1L, List.of());
+        graph.addTask(TENANT, 2L, List.of(1L));
+        graph.addTask(TENANT, 3L, List.of(2L));
+
+        assertThatThrownBy(() -> graph.replaceDependencies(TENANT, 1L, List.of(3L)))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("cycle");
+        assertThatThrownBy(() -> graph.replaceDependencies(TENANT, 1L, List.of(1L)))
+                .isInstanceOf(BadRequestException.class);
+        assertThat(graph.unresolvedCount(1L)).isZero();
+    }
+
+    @Test
+    void replaceDependencies_dropsOldEdges() {
+        graph.addTask(TENANT, 1L, List.of());
+        graph.addTask(TENANT, 2L, List.of());
+        graph.addTask(TENANT, 3L, List.of(1L));
+
+        graph.replaceDependencies(TENANT, 3L, List.of(2L));
+
+        assertThat(graph.markCompleted(1L)).isEmpty();
+        assertThat(graph.markCompleted(2L)).containsExactly(3L);
+    }
+
+    @Test
+    void remove_keepsDependentsBlockedUntilTheyDropTheEdge() {
+        graph.addTask(TENANT, 1L, List.of());
+        graph.addTask(TENANT, 2L, List.of(1L));
+
+        graph.remove(TENANT, 1L);
+        assertThat(graph.unresolvedCount(2L)).isEqualTo(1);
+
+        graph.replaceDependencies(TENANT, 2L, List.of());
+        assertThat(graph.unresolvedCount(2L)).isZero();
+        assertThat(graph.edgeCount()).isZero();
+    }
+
+    @Test
+    void markCancelled_keepsDependentsBlocked() {
+        graph.addTask(TENANT, 1L, List.of());
+        graph.addTask(TENANT, 2L, List.of());
+        graph.addTask(TENANT, 3L, List.of(1L, 2L));
+
+        graph.markCancelled(TENANT, 1L);
+        assertThat(graph.markCompleted(2L)).isEmpty();
+        assertThat(graph.unresolvedCount(3L)).isEqualTo(1);
+    }
+
+    @Test
+    void addTask_onUnknownRemovedOrCancelledDependency_rejected() {
+        graph.addTask(TENANT, 1L, List.of());
+        graph.addTask(TENANT, 2L, List.of());
+        graph.addTask(TENANT, 3L, List.of(2L));
+        graph.remove(TENANT, 1L);
+        graph.markCancelled(TENANT, 2L);
+
+        assertThatThrownBy(() -> graph.addTask(TENANT, 4L, List.of(9L)))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("not found: 9");
+        assertThatThrownBy(() -> graph.addTask(TENANT, 4L, List.of(1L)))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("not found: 1");
+        assertThatThrownBy(() -> graph.replaceDependencies(TENANT, 3L, List.of(2L)))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("is cancelled");
+        assertThat(graph.unresolvedCount(9L)).isZero();
+    }
+
+    @Test
+    void remove_afterCompleted_doesNotReleaseTwice() {
+        graph.addTask(TENANT, 1L, List.of());
+        graph.addTask(TENANT, 2L, List.of());
+        graph.addTask(TENANT, 3L, List.of(1L, 2L));
+        graph.markCompleted(1L);
+
+        graph.remove(TENANT, 1L);
+        assertThat(graph.unresolvedCount(3L)).isEqualTo(1);
+        assertThat(graph.edgeCount()).isEqualTo(1);
+    }
+
+    @Test
+    void replaceDependencies_longChain_doesNotOverflow() {
+        int length = 200_000;
+        graph.addTask(TENANT, 1L, List.of());
+        for (long id = 2; id <= length; id++) {
+            graph.addTask(TENANT, id, List.of(id - 1));
+        }
+
+        assertThatThrownBy(() -> graph.replaceDependencies(TENANT, 1L, List.of((long) length)))
+                .isInstanceOf(BadRequestException.class);
+    }
+}
@@ -0,0 +1,70 @@
+package com.taskscheduler.taskscheduler.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExpiryIndexTest {
+
+    private final ExpiryIndex index = new ExpiryIndex();
+
+    @Test
+    void expired_returnsOnlyDueEntriesInOrder() {
+        index.put(1L, 300);
+        index.put(2L, 100);
+        index.put(3L, 200);
+
+        assertThat(index.expired(200)).containsExactly(2L, 3L);
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void put_movesExistingEntry() {
+        index.put(1L, 100);
+        index.put(1L, 500);
+
+        assertThat(index.expired(200)).isEmpty();
+        assertThat(index.expired(500)).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void pollExpired_removesDueEntries() {
+        index.put(1L, 100);
+        index.put(2L, 300);
+
+        assertThat(index.pollExpired(200)).containsExactly(1L);
+        assertThat(index.pollExpired(200)).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void pollExpired_withLimit_leavesTheRestForLater() {
+        index.put(1L, 100);
+        index.put(2L, 150);
+        index.put(3L, 300);
+
+        assertThat(index.pollExpired(200, 1)).containsExactly(1L);
+        assertThat(index.pollExpired(200, 1)).containsExactly(2L);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void remove_dropsEntry() {
+        index.put(1L, 100);
+        index.remove(1L);
+
+        assertThat(index.expired(1000)).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void expired_withLimit_returnsEarliestFirst() {
+        index.put(3L, 300);
+        index.put(1L, 100);
+        index.put(2L, 200);
+
+        assertThat(index.expired(1000, 2)).containsExactly(1L, 2L);
+        assertThat(index.size()).isEqualTo(3);
+    }
+}
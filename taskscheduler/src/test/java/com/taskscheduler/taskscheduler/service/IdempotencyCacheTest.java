@@ -0,0 +1,176 @@
+package com.taskscheduler.taskscheduler.service;
+
+import com.taskscheduler.taskscheduler.exception.IdempotencyKeyReusedException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyCacheTest {
+
+    private static final long FP = 42L;
+
+    @Test
+    void getOrCreate_sameKey_runsCreatorOnce() {
+        IdempotencyCache cache = new IdempotencyCache(10, Duration.ofMinutes(1));
+        AtomicLong ids = new AtomicLong(1);
+
+        Long first = cache.getOrCreate("a", FP, ids::getAndIncrement);
+        Long second = cache.getOrCreate("a", FP, ids::getAndIncrement);
+
+        assertThat(first).isEqualTo(1L);
+        assertThat(second).isEqualTo(1L);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void getOrCreate_overCapacity_evictsOldest() {
+        IdempotencyCache cache = new IdempotencyCache(2, Duration.ofMinutes(1));
+        AtomicLong ids = new AtomicLong(1);
+
+        cache.getOrCreate("a", FP, ids::getAndIncrement);
+        cache.getOrCreate("b", FP, ids::getAndIncrement);
+        cache.getOrCreate("c", FP, ids::getAndIncrement);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getOrCreate("a", FP, ids::getAndIncrement)).isEqualTo(4L);
+    }
+
+    @Test
+    void getOrCreate_afterTtl_createsAgain() {
+        MutableClock clock = new MutableClock();
+        IdempotencyCache cache = new IdempotencyCache(10, Duration.ofSeconds(30), clock);
+        AtomicLong ids = new AtomicLong(1);
+
+        cache.getOrCreate("a", FP, ids::getAndIncrement);
+        clock.advance(Duration.ofSeconds(31));
+
+        assertThat(cache.getOrCreate("a", FP, ids::getAndIncrement)).isEqualTo(2L);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void getOrCreate_sameKeyDifferentFingerprint_rejected() {
+        IdempotencyCache cache = new IdempotencyCache(10, Duration.ofMinutes(1));
+        cache.getOrCreate("a", FP, () -> 1L);
+
+        assertThatThrownBy(() -> cache.getOrCreate("a", FP + 1, () -> 2L))
+                .isInstanceOf(IdempotencyKeyReusedException.class);
+    }
+
+    @Test
+    void getOrCreate_creatorFails_releasesKey() {
+        IdempotencyCache cache = new IdempotencyCache(10, Duration.ofMinutes(1));
+
+        assertThatThrownBy(() -> cache.getOrCreate("a", FP, () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(cache.size()).isZero();
+        assertThat(cache.getOrCreate("a", FP, () -> 7L)).isEqualTo(7L);
+    }
+
+    @Test
+    void getOrCreate_concurrentCallerWaitsForReservation() throws Exception {
+        IdempotencyCache cache = new IdempotencyCache(10, Duration.ofMinutes(1));
+        CountDownLatch creating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicLong ids = new AtomicLong(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Long> first = executor.submit(() -> cache.getOrCreate("a", FP, () -> {
+                creating.countDown();
+                await(release);
+                return ids.getAndIncrement();
+            }));
+            creating.await();
+
+            // Another key is not held up by the slow create.
+            assertThat(cache.getOrCreate("b", FP, () -> 99L)).isEqualTo(99L);
+
+            CompletableFuture<Long> second = CompletableFuture.supplyAsync(
+                    () -> cache.getOrCreate("a", FP, ids::getAndIncrement));
+            release.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(1L);
+            assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo(1L);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void getOrCreate_overCapacity_keepsReservationsStillBeingCreated() throws Exception {
+        IdempotencyCache cache = new IdempotencyCache(1, Duration.ofMinutes(1));
+        CountDownLatch creating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicLong ids = new AtomicLong(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Long> first = executor.submit(() -> cache.getOrCreate("a", FP, () -> {
+                creating.countDown();
+                await(release);
+                return ids.getAndIncrement();
+            }));
+            creating.await();
+
+            cache.getOrCreate("b", FP, () -> 98L);
+            cache.getOrCreate("c", FP, () -> 99L);
+            assertThat(cache.size()).isEqualTo(1);
+
+            CompletableFuture<Long> second = CompletableFuture.supplyAsync(
+                    () -> cache.getOrCreate("a", FP, ids::getAndIncrement));
+            release.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(1L);
+            assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo(1L);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-01-15T10:30:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.taskscheduler.taskscheduler.service;
+
+import com.taskscheduler.taskscheduler.exception.BadRequestException;
+import com.taskscheduler.taskscheduler.model.Recurrence;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RecurrenceEngineTest {
+
+    private final ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1);
+
+    @AfterEach
+    void tearDown() {
+        timer.shutdownNow();
+    }
+
+    @Test
+    void nextFireTime_cron_usesUtc() {
+        Recurrence nightly = new Recurrence("0 0 2 * * *", null);
+
+        assertThat(RecurrenceEngine.nextFireTime(nightly, Instant.parse("2025-01-15T10:30:00Z")))
+                .isEqualTo(Instant.parse("2025-01-16T02:00:00Z"));
+    }
+
+    @Test
+    void nextFireTime_fixedRate_addsRate() {
+        Recurrence everyFiveMinutes = new Recurrence(null, 300_000L);
+
+        assertThat(RecurrenceEngine.nextFireTime(everyFiveMinutes, Instant.parse("2025-01-15T10:30:00Z")))
+                .isEqualTo(Instant.parse("2025-01-15T10:35:00Z"));
+    }
+
+    @Test
+    void validate_rejectsBothOrNeither() {
+        assertThatThrownBy(() -> RecurrenceEngine.validate(new Recurrence(null, null)))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> RecurrenceEngine.validate(new Recurrence("0 0 2 * * *", 60_000L)))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> RecurrenceEngine.validate(new Recurrence(null, 10L)))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("at least");
+    }
+
+    @Test
+    void register_firesOccurrencesAheadOfTimeAndRearms() throws InterruptedException {
+        RecurrenceEngine engine = new RecurrenceEngine(timer, Duration.ofSeconds(5));
+        CountDownLatch fired = new CountDownLatch(2);
+
+        engine.register(1L, new Recurrence(null, 1000L), (fireTime, next) -> {
+            assertThat(next).isAfter(fireTime);
+            fired.countDown();
+        });
+
+        assertThat(fired.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(engine.registeredCount()).isEqualTo(1);
+    }
+
+    @Test
+    void register_timerDueImmediately_keepsFiring() throws InterruptedException {
+        ScheduledThreadPoolExecutor timers = new ScheduledThreadPoolExecutor(2);
+        try {
+            // A rate within the lead time arms every timer with no delay.
+            RecurrenceEngine engine = new RecurrenceEngine(timers, Duration.ofSeconds(5));
+            int series = 200;
+            CountDownLatch fired = new CountDownLatch(series * 2);
+
+            for (long id = 1; id <= series; id++) {
+                engine.register(id, new Recurrence(null, 1000L), (fireTime, next) -> fired.countDown());
+            }
+
+            assertThat(fired.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(engine.registeredCount()).isEqualTo(series);
+        } finally {
+            timers.shutdownNow();
+        }
+    }
+
+    @Test
+    void cancel_stopsFiring() throws InterruptedException {
+        RecurrenceEngine engine = new RecurrenceEngine(timer, Duration.ZERO);
+        CountDownLatch fired = new CountDownLatch(1);
+
+        engine.register(1L, new Recurrence(null, 1000L), (fireTime, next) -> fired.countDown());
+        engine.cancel(1L);
+
+        assertThat(fired.await(1500, TimeUnit.MILLISECONDS)).isFalse();
+        assertThat(engine.registeredCount()).isZero();
+        assertThat(timer.getQueue()).isEmpty();
+    }
+}
@@ -0,0 +1,90 @@
+package com.taskscheduler.taskscheduler.service;
+
+import com.taskscheduler.taskscheduler.exception.BadRequestException;
+import com.taskscheduler.taskscheduler.model.RetryPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RetrySchedulerTest {
+
+    private static final String TENANT = "team-a";
+
+    private final ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1);
+
+    @AfterEach
+    void tearDown() {
+        timer.shutdownNow();
+    }
+
+    @Test
+    void backoffMillis_growsExponentiallyUpToCap() {
+        RetryPolicy policy = new RetryPolicy(10, 100, 1000);
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(RetryScheduler.backoffMillis(policy, 1)).isBetween(0L, 100L);
+            assertThat(RetryScheduler.backoffMillis(policy, 3)).isBetween(0L, 400L);
+            assertThat(RetryScheduler.backoffMillis(policy, 10)).isBetween(0L, 1000L);
+            assertThat(RetryScheduler.backoffMillis(policy, 200)).isBetween(0L, 1000L);
+        }
+    }
+
+    @Test
+    void validate_rejectsInvalidPolicies() {
+        assertThatThrownBy(() -> RetryScheduler.validate(new RetryPolicy(0, 100, 1000)))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> RetryScheduler.validate(new RetryPolicy(3, 1000, 100)))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void schedule_runsRetryAfterDelayAndTracksDepth() throws InterruptedException {
+        RetryScheduler scheduler = new RetryScheduler(timer, 3, Duration.ofSeconds(1), Duration.ofMinutes(1));
+        CountDownLatch retried = new CountDownLatch(1);
+
+        scheduler.schedule(TENANT, 1L, 50, retried::countDown);
+        assertThat(scheduler.stats(TENANT).getQueueDepth()).isEqualTo(1);
+
+        assertThat(retried.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(scheduler.stats(TENANT).getQueueDepth()).isZero();
+        assertThat(scheduler.stats(TENANT).getRetriesScheduled()).isEqualTo(1);
+        assertThat(scheduler.stats(TENANT).getAverageBackoffMs()).isEqualTo(50);
+    }
+
+    @Test
+    void cancel_preventsRetry() throws InterruptedException {
+        RetryScheduler scheduler = new RetryScheduler(timer, 3, Duration.ofSeconds(1), Duration.ofMinutes(1));
+        CountDownLatch retried = new CountDownLatch(1);
+
+        scheduler.schedule(TENANT, 1L, 50, retried::countDown);
+        scheduler.cancel(TENANT, 1L);
+
+        assertThat(retried.await(300, TimeUnit.MILLISECONDS)).isFalse();
+        assertThat(scheduler.stats(TENANT).getQueueDepth()).isZero();
+    }
+
+    @Test
+    void statsAndDeadLettersArePerTenant() {
+        RetryScheduler scheduler = new RetryScheduler(timer, 3, Duration.ofSeconds(1), Duration.ofMinutes(1));
+
+        scheduler.schedule(TENANT, 1L, 60_000, () -> {
+        });
+        scheduler.deadLetter(TENANT, 2L);
+        scheduler.deadLetter("team-b", 3L);
+        scheduler.cancel("team-b", 1L);
+
+        assertThat(scheduler.stats(TENANT).getQueueDepth()).isEqualTo(1);
+        assertThat(scheduler.stats(TENANT).getDeadLetterCount()).isEqualTo(1);
+        assertThat(scheduler.stats("team-b").getQueueDepth()).isZero();
+        assertThat(scheduler.stats("team-b").getRetriesScheduled()).isZero();
+        assertThat(scheduler.deadLetterIds("team-b")).containsExactly(3L);
+        assertThat(scheduler.stats("team-c").getDeadLetterCount()).isZero();
+    }
+}
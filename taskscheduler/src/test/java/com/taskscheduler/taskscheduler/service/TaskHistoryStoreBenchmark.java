@@ -0,0 +1,87 @@
+package com.taskscheduler.taskscheduler.service;
+
+import com.taskscheduler.taskscheduler.model.HistoryEvent;
+import com.taskscheduler.taskscheduler.model.Status;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cost of {@link TaskHistoryStore} appends from one thread and from
+ * {@code benchmark.history.writers} threads sharing one tenant's lock. Run with
+ * {@code mvn -Pload-test test -Dtest=TaskHistoryStoreBenchmark}.
+ */
+@Tag("load")
+class TaskHistoryStoreBenchmark {
+
+    private static final String TENANT = "default";
+    private static final int EVENTS_PER_ROUND = 1_000_000;
+    private static final int TASKS = 10_000;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int ROUNDS = 7;
+
+    @Test
+    void contendedAppends_costAboutTheSameAsUncontended() throws Exception {
+        int writers = Integer.getInteger("benchmark.history.writers",
+                Math.max(4, Runtime.getRuntime().availableProcessors()));
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        try {
+            double single = measure(pool, 1);
+            double contended = measure(pool, writers);
+
+            System.out.printf("history append: %.1f ns/event with 1 writer, %.1f ns/event with %d writers%n",
+                    single, contended, writers);
+            assertThat(single).as("ns per append, one writer").isLessThan(1_000);
+            assertThat(contended).as("ns per append, %d writers", writers).isLessThan(single * 1.5);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // Median wall-clock nanoseconds per appended event, across all writers.
+    private static double measure(ExecutorService pool, int writers) throws Exception {
+        double[] rounds = new double[ROUNDS];
+        for (int round = -WARMUP_ROUNDS; round < ROUNDS; round++) {
+            // A fresh store per round, large enough never to drop chunks mid-run.
+            TaskHistoryStore store = new TaskHistoryStore(TaskHistoryStore.DEFAULT_CHUNK_BYTES, 1L << 30,
+                    Duration.ofDays(1), Clock.systemUTC());
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> running = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                int writer = w;
+                running.add(pool.submit(() -> {
+                    start.await();
+                    String actor = "worker-" + writer;
+                    for (int i = writer; i < EVENTS_PER_ROUND; i += writers) {
+                        store.record(TENANT, (long) (i % TASKS), HistoryEvent.STATUS_CHANGED, actor)
+                                .status(Status.IN_PROGRESS).leaseOwner(actor).append();
+                    }
+                    return null;
+                }));
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<?> writer : running) {
+                writer.get();
+            }
+            long elapsed = System.nanoTime() - begin;
+            assertThat(store.retainedEvents()).isEqualTo(EVENTS_PER_ROUND);
+            if (round >= 0) {
+                rounds[round] = (double) elapsed / EVENTS_PER_ROUND;
+            }
+        }
+        Arrays.sort(rounds);
+        return rounds[ROUNDS / 2];
+    }
+}
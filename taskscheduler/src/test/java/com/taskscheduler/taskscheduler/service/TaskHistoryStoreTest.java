@@ -0,0 +1,189 @@
+package com.taskscheduler.taskscheduler.service;
+
+import com.taskscheduler.taskscheduler.dto.FieldChange;
+import com.taskscheduler.taskscheduler.dto.TaskHistory;
+import com.taskscheduler.taskscheduler.model.HistoryEvent;
+import com.taskscheduler.taskscheduler.model.Priority;
+import com.taskscheduler.taskscheduler.model.Status;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskHistoryStoreTest {
+
+    private static final Instant START = Instant.parse("2026-01-01T00:00:00Z");
+    private static final String TENANT = "team-a";
+    private static final String ACTOR = "worker-1";
+
+    @Test
+    void replaysDeltasIntoFromAndToValues() {
+        TaskHistoryStore store = new TaskHistoryStore(1024, 4096, Duration.ofDays(1), fixedClock(START));
+        store.record(TENANT, 7L, HistoryEvent.CREATED, ACTOR).title("a").description(null).priority(Priority.LOW)
+                .status(Status.PENDING).dependsOn(List.of(5L, 3L, 1_000_000L)).append();
+        store.record(TENANT, 8L, HistoryEvent.CREATED, ACTOR).title("other").append();
+        store.record(TENANT, 7L, HistoryEvent.UPDATED, ACTOR).description("détails").priority(Priority.HIGH).append();
+        store.record(TENANT, 7L, HistoryEvent.DELETED, ACTOR).deleted().append();
+
+        TaskHistory history = store.history(TENANT, 7L);
+
+        assertThat(history.isTruncated()).isFalse();
+        assertThat(history.getEntries()).hasSize(3);
+        assertThat(history.getEntries().get(0).getTimestamp()).isEqualTo(START);
+        FieldChange dependsOn = history.getEntries().get(0).getChanges().get(4);
+        assertThat(dependsOn.getTo()).isEqualTo(List.of(5L, 3L, 1_000_000L));
+        List<FieldChange> update = history.getEntries().get(1).getChanges();
+        assertThat(update).extracting(FieldChange::getField).containsExactly("description", "priority");
+        assertThat(update.get(0).getFrom()).isNull();
+        assertThat(update.get(0).getTo()).isEqualTo("détails");
+        assertThat(update.get(1).getFrom()).isEqualTo(Priority.LOW);
+        assertThat(update.get(1).getTo()).isEqualTo(Priority.HIGH);
+        FieldChange deleted = history.getEntries().get(2).getChanges().get(0);
+        assertThat(deleted.getFrom()).isEqualTo(false);
+        assertThat(deleted.getTo()).isEqualTo(true);
+        assertThat(store.history(TENANT, 99L)).isNull();
+    }
+
+    @Test
+    void dropsOldestChunksWhenOverBudget() {
+        TaskHistoryStore store = new TaskHistoryStore(256, 1024, Duration.ofDays(1), fixedClock(START));
+        store.record(TENANT, 1L, HistoryEvent.CREATED, ACTOR).title("first").append();
+        for (int i = 0; i < 200; i++) {
+            store.record(TENANT, 2L, HistoryEvent.STATUS_CHANGED, ACTOR).status(Status.IN_PROGRESS).attempts(i).append();
+        }
+
+        assertThat(store.retainedBytes()).isLessThanOrEqualTo(1024);
+        assertThat(store.history(TENANT, 1L)).isNull();
+        TaskHistory history = store.history(TENANT, 2L);
+        assertThat(history.isTruncated()).isTrue();
+        assertThat(history.getEntries()).hasSize((int) store.retainedEvents());
+        assertThat(history.getEntries().get(0).getChanges().get(0).getFrom()).isNull();
+        assertThat(history.getEntries().get(history.getEntries().size() - 1).getChanges().get(1).getTo())
+                .isEqualTo(199);
+    }
+
+    @Test
+    void dropsChunksOlderThanRetention() {
+        MutableClock clock = new MutableClock();
+        TaskHistoryStore store = new TaskHistoryStore(64, 1 << 20, Duration.ofHours(1), clock);
+        store.record(TENANT, 1L, HistoryEvent.CREATED, ACTOR).title("old task with a long enough title").append();
+        clock.advance(Duration.ofHours(2));
+        store.record(TENANT, 2L, HistoryEvent.CREATED, ACTOR).title("new task with a long enough title").append();
+
+        assertThat(store.history(TENANT, 1L)).isNull();
+        assertThat(store.history(TENANT, 2L).getEntries().get(0).getTimestamp()).isEqualTo(clock.now);
+    }
+
+    @Test
+    void leavesOutEventsPastRetentionBeforeTheirChunkIsDropped() {
+        MutableClock clock = new MutableClock();
+        TaskHistoryStore store = new TaskHistoryStore(1024, 1 << 20, Duration.ofHours(1), clock);
+        store.record(TENANT, 1L, HistoryEvent.CREATED, ACTOR).title("t").append();
+        clock.advance(Duration.ofMinutes(90));
+        store.record(TENANT, 1L, HistoryEvent.UPDATED, ACTOR).title("u").append();
+
+        TaskHistory history = store.history(TENANT, 1L);
+        assertThat(history.isTruncated()).isTrue();
+        assertThat(history.getEntries()).hasSize(1);
+
+        clock.advance(Duration.ofMinutes(90));
+        assertThat(store.history(TENANT, 1L)).isNull();
+    }
+
+    @Test
+    void dropsExpiredChunksOnAppendToAnExistingChunk() {
+        MutableClock clock = new MutableClock();
+        TaskHistoryStore store = new TaskHistoryStore(1024, 1 << 20, Duration.ofHours(1), clock);
+        store.record("team-b", 1L, HistoryEvent.CREATED, ACTOR).title("old").append();
+        store.record(TENANT, 2L, HistoryEvent.CREATED, ACTOR).title("new").append();
+        long retained = store.retainedEvents();
+        clock.advance(Duration.ofHours(2));
+
+        store.record(TENANT, 2L, HistoryEvent.UPDATED, ACTOR).title("newer").append();
+
+        assertThat(retained).isEqualTo(2);
+        assertThat(store.retainedEvents()).isEqualTo(2);
+        assertThat(store.history("team-b", 1L)).isNull();
+    }
+
+    @Test
+    void skipsUpdatesThatChangedNothingAndRecordsDueAt() {
+        TaskHistoryStore store = new TaskHistoryStore(1024, 4096, Duration.ofDays(1), fixedClock(START));
+        Instant dueAt = START.plus(Duration.ofDays(2));
+        store.record(TENANT, 1L, HistoryEvent.CREATED, ACTOR).title("t").dueAt(dueAt).append();
+        store.record(TENANT, 1L, HistoryEvent.UPDATED, ACTOR).append();
+        store.record(TENANT, 1L, HistoryEvent.UPDATED, ACTOR).dueAt(null).append();
+
+        List<FieldChange> created = store.history(TENANT, 1L).getEntries().get(0).getChanges();
+        assertThat(created).extracting(FieldChange::getField).containsExactly("title", "dueAt");
+        assertThat(created.get(1).getTo()).isEqualTo(dueAt);
+        assertThat(store.retainedEvents()).isEqualTo(2);
+        FieldChange cleared = store.history(TENANT, 1L).getEntries().get(1).getChanges().get(0);
+        assertThat(cleared.getFrom()).isEqualTo(dueAt);
+        assertThat(cleared.getTo()).isNull();
+    }
+
+    @Test
+    void oversizedRecordGetsItsOwnChunk() {
+        TaskHistoryStore store = new TaskHistoryStore(128, 1 << 20, Duration.ofDays(1), fixedClock(START));
+        String description = "x".repeat(10_000);
+        store.record(TENANT, 1L, HistoryEvent.CREATED, ACTOR).title("t").append();
+        store.record(TENANT, 1L, HistoryEvent.UPDATED, ACTOR).description(description).append();
+        store.record(TENANT, 1L, HistoryEvent.UPDATED, ACTOR).title("u").append();
+
+        TaskHistory history = store.history(TENANT, 1L);
+        assertThat(history.getEntries()).hasSize(3);
+        assertThat(history.getEntries().get(1).getChanges().get(0).getTo()).isEqualTo(description);
+        assertThat(history.getEntries().get(2).getChanges().get(0).getFrom()).isEqualTo("t");
+    }
+
+    @Test
+    void tenantsHaveSeparateHistoriesButShareTheByteBudget() {
+        TaskHistoryStore store = new TaskHistoryStore(256, 1024, Duration.ofDays(1), fixedClock(START));
+        store.record(TENANT, 1L, HistoryEvent.CREATED, ACTOR).title("first").append();
+
+        assertThat(store.history("team-b", 1L)).isNull();
+        assertThat(store.history(TENANT, 1L).getEntries()).hasSize(1);
+
+        for (int i = 0; i < 200; i++) {
+            store.record("team-b", 2L, HistoryEvent.STATUS_CHANGED, ACTOR).status(Status.IN_PROGRESS).attempts(i).append();
+        }
+
+        assertThat(store.retainedBytes()).isLessThanOrEqualTo(1024);
+        assertThat(store.history(TENANT, 1L)).isNull();
+        assertThat(store.history("team-b", 2L).getEntries()).hasSize((int) store.retainedEvents());
+    }
+
+    private static Clock fixedClock(Instant instant) {
+        return Clock.fixed(instant, ZoneOffset.UTC);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = START;
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
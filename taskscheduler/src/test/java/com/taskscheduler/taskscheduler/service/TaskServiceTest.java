@@ -1,41 +1,111 @@
 package com.taskscheduler.taskscheduler.service;
 
 import com.taskscheduler.taskscheduler.dto.CreateTaskRequest;
+import com.taskscheduler.taskscheduler.dto.FieldChange;
 import com.taskscheduler.taskscheduler.dto.StatusUpdateRequest;
 import com.taskscheduler.taskscheduler.dto.UpdateTaskRequest;
 import com.taskscheduler.taskscheduler.exception.BadRequestException;
+import com.taskscheduler.taskscheduler.exception.ConflictException;
+import com.taskscheduler.taskscheduler.exception.IdempotencyKeyReusedException;
 import com.taskscheduler.taskscheduler.exception.TaskNotFoundException;
+import com.taskscheduler.taskscheduler.exception.TenantQuotaExceededException;
+import com.taskscheduler.taskscheduler.model.HistoryEvent;
 import com.taskscheduler.taskscheduler.model.Priority;
+import com.taskscheduler.taskscheduler.model.Recurrence;
 import com.taskscheduler.taskscheduler.model.Status;
 import com.taskscheduler.taskscheduler.model.Task;
 import com.taskscheduler.taskscheduler.repository.TaskRepository;
+import com.taskscheduler.taskscheduler.tenant.TenantQuotas;
+import com.taskscheduler.taskscheduler.tenant.Tenants;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class TaskServiceTest {
 
+    private static final String TENANT = "team-a";
+    private static final String ACTOR = "client-1";
+
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private RecurrenceEngine recurrenceEngine;
+
+    @Mock
+    private ScheduledExecutorService taskTimer;
+
+    private DependencyGraph dependencyGraph;
+
+    private ScheduledExecutorService queueTimer;
+
+    private ExecutorService claimExecutor;
+
+    private WorkQueue workQueue;
+
+    private LeaseManager leaseManager;
+
+    private TaskStats taskStats;
+
+    private DeadlineTracker deadlineTracker;
+
+    private TenantQuotas tenantQuotas;
+
     private TaskService taskService;
 
     @BeforeEach
     void setUp() {
-        taskService = new TaskService(taskRepository);
+        dependencyGraph = new DependencyGraph();
+        queueTimer = Executors.newSingleThreadScheduledExecutor();
+        claimExecutor = Executors.newSingleThreadExecutor();
+        workQueue = new WorkQueue(queueTimer);
+        leaseManager = new LeaseManager(taskTimer, Duration.ofSeconds(1));
+        taskStats = new TaskStats();
+        deadlineTracker = new DeadlineTracker(taskTimer, Duration.ofSeconds(1));
+        tenantQuotas = new TenantQuotas(5, 10);
+        TaskHistoryStore taskHistory = new TaskHistoryStore(TaskHistoryStore.DEFAULT_CHUNK_BYTES, 1 << 20,
+                Duration.ofDays(1), Clock.systemUTC());
+        TaskTransitions transitions = new TaskTransitions(taskRepository, dependencyGraph, workQueue, taskStats);
+        taskService = new TaskService(taskRepository, new IdempotencyCache(100, Duration.ofHours(1)),
+                dependencyGraph,
+                new RecurringTasks(taskRepository, recurrenceEngine, tenantQuotas, taskStats, taskHistory,
+                        dependencyGraph, workQueue),
+                new RetryCoordinator(taskRepository,
+                        new RetryScheduler(taskTimer, 3, Duration.ofSeconds(1), Duration.ofMinutes(5)),
+                        taskHistory, transitions),
+                workQueue, leaseManager, new LeaseExpiry(taskRepository, leaseManager, taskHistory, transitions),
+                transitions, taskStats, taskHistory, deadlineTracker, tenantQuotas, claimExecutor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        queueTimer.shutdownNow();
+        claimExecutor.shutdownNow();
     }
 
     @Test
@@ -45,14 +115,13 @@ class TaskServiceTest {
         request.setDescription("Desc");
         request.setPriority(Priority.HIGH);
 
-        Task saved = new Task(1L, "Test task", "Desc", Priority.HIGH, Status.PENDING, false, Instant.now(), Instant.now());
         when(taskRepository.save(any(Task.class))).thenAnswer(inv -> {
             Task t = inv.getArgument(0);
             t.setId(1L);
             return t;
         });
 
-        Task result = taskService.create(request);
+        Task result = taskService.create(TENANT, request);
 
         assertThat(result.getTitle()).isEqualTo("Test task");
         assertThat(result.getDescription()).isEqualTo("Desc");
@@ -63,10 +132,67 @@ class TaskServiceTest {
         assertThat(result.getUpdatedAt()).isNotNull();
     }
 
+    @Test
+    void create_withSameIdempotencyKey_createsOnce() {
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setTitle("Test task");
+        request.setPriority(Priority.HIGH);
+
+        Task[] stored = new Task[1];
+        when(taskRepository.save(any(Task.class))).thenAnswer(inv -> {
+            Task t = inv.getArgument(0);
+            t.setId(1L);
+            stored[0] = t;
+            return t;
+        });
+        when(taskRepository.findById(TENANT, 1L)).thenAnswer(inv -> Optional.of(stored[0]));
+
+        Task first = taskService.create(TENANT, request, "key-1", ACTOR);
+        Task retry = taskService.create(TENANT, request, "key-1", ACTOR);
+
+        assertThat(retry).isSameAs(first);
+        verify(taskRepository, times(1)).save(any(Task.class));
+    }
+
+    @Test
+    void create_sameIdempotencyKeyDifferentBody_rejected() {
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setTitle("Test task");
+        request.setPriority(Priority.HIGH);
+        Task[] stored = new Task[1];
+        when(taskRepository.save(any(Task.class))).thenAnswer(inv -> {
+            Task t = inv.getArgument(0);
+            t.setId(1L);
+            stored[0] = t;
+            return t;
+        });
+        when(taskRepository.findById(TENANT, 1L)).thenAnswer(inv -> Optional.of(stored[0]));
+        taskService.create(TENANT, request, "key-1", ACTOR);
+
+        CreateTaskRequest changed = new CreateTaskRequest();
+        changed.setTitle("Test task");
+        changed.setPriority(Priority.LOW);
+
+        assertThatThrownBy(() -> taskService.create(TENANT, changed, "key-1", ACTOR))
+                .isInstanceOf(IdempotencyKeyReusedException.class);
+        verify(taskRepository, times(1)).save(any(Task.class));
+    }
+
+    @Test
+    void create_idempotencyKeyTooLong_rejected() {
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setTitle("Test task");
+        request.setPriority(Priority.HIGH);
+
+        assertThatThrownBy(() -> taskService.create(TENANT, request, "k".repeat(256), ACTOR))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("Idempotency-Key");
+    }
+
     @Test
     void getById_throwsWhenNotFound() {
-        when(taskRepository.findById(99L)).thenReturn(Optional.empty());
-        assertThatThrownBy(() -> taskService.getById(99L))
+        when(taskRepository.findById(TENANT, 99L)).thenReturn(Optional.empty());
+        assertThatThrownBy(() -> taskService.getById(TENANT, 99L))
                 .isInstanceOf(TaskNotFoundException.class)
                 .hasMessageContaining("99");
     }
@@ -74,8 +200,9 @@ class TaskServiceTest {
     @Test
     void getById_throwsWhenSoftDeleted() {
         Task deleted = new Task(5L, "x", null, Priority.LOW, Status.PENDING, true, Instant.now(), Instant.now());
-        when(taskRepository.findById(5L)).thenReturn(Optional.of(deleted));
-        assertThatThrownBy(() -> taskService.getById(5L))
+        deleted.setTenantId(TENANT);
+        when(taskRepository.findById(TENANT, 5L)).thenReturn(Optional.of(deleted));
+        assertThatThrownBy(() -> taskService.getById(TENANT, 5L))
                 .isInstanceOf(TaskNotFoundException.class)
                 .hasMessageContaining("5");
     }
@@ -83,14 +210,16 @@ class TaskServiceTest {
     @Test
     void getById_returnsTaskWhenActive() {
         Task task = new Task(1L, "t", null, Priority.MEDIUM, Status.PENDING, false, Instant.now(), Instant.now());
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        assertThat(taskService.getById(1L)).isSameAs(task);
+        task.setTenantId(TENANT);
+        when(taskRepository.findById(TENANT, 1L)).thenReturn(Optional.of(task));
+        assertThat(taskService.getById(TENANT, 1L)).isSameAs(task);
     }
 
     @Test
     void update_throwsWhenStatusInBody() {
         Task task = new Task(1L, "t", null, Priority.MEDIUM, Status.PENDING, false, Instant.now(), Instant.now());
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        task.setTenantId(TENANT);
+        when(taskRepository.findById(TENANT, 1L)).thenReturn(Optional.of(task));
 
         UpdateTaskRequest request = new UpdateTaskRequest();
         request.setTitle("New title");
@@ -98,15 +227,35 @@ class TaskServiceTest {
         request.setPriority(Priority.HIGH);
         request.setStatus(Status.COMPLETED);
 
-        assertThatThrownBy(() -> taskService.update(1L, request))
+        assertThatThrownBy(() -> taskService.update(TENANT, 1L, request, ACTOR))
                 .isInstanceOf(BadRequestException.class)
                 .hasMessageContaining("PATCH /tasks/{id}/status");
     }
 
+    @Test
+    void update_withMissingDependency_leavesTaskUntouched() {
+        Task task = new Task(1L, "old", "oldDesc", Priority.LOW, Status.PENDING, false, Instant.now(), Instant.now());
+        task.setTenantId(TENANT);
+        when(taskRepository.findById(TENANT, 1L)).thenReturn(Optional.of(task));
+        when(taskRepository.findById(TENANT, 42L)).thenReturn(Optional.empty());
+
+        UpdateTaskRequest request = new UpdateTaskRequest();
+        request.setTitle("New title");
+        request.setPriority(Priority.HIGH);
+        request.setDependsOn(List.of(42L));
+
+        assertThatThrownBy(() -> taskService.update(TENANT, 1L, request, ACTOR))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("Dependency task not found: 42");
+        assertThat(task.getTitle()).isEqualTo("old");
+        assertThat(task.getPriority()).isEqualTo(Priority.LOW);
+    }
+
     @Test
     void update_updatesFieldsAndSaved() {
         Task task = new Task(1L, "old", "oldDesc", Priority.LOW, Status.PENDING, false, Instant.now(), Instant.now());
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        task.setTenantId(TENANT);
+        when(taskRepository.findById(TENANT, 1L)).thenReturn(Optional.of(task));
         when(taskRepository.save(any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
 
         UpdateTaskRequest request = new UpdateTaskRequest();
@@ -114,7 +263,7 @@ class TaskServiceTest {
         request.setDescription("New desc");
         request.setPriority(Priority.HIGH);
 
-        Task result = taskService.update(1L, request);
+        Task result = taskService.update(TENANT, 1L, request, ACTOR);
 
         assertThat(result.getTitle()).isEqualTo("New title");
         assertThat(result.getDescription()).isEqualTo("New desc");
@@ -126,10 +275,11 @@ class TaskServiceTest {
     @Test
     void softDelete_setsDeletedTrue() {
         Task task = new Task(1L, "t", null, Priority.MEDIUM, Status.PENDING, false, Instant.now(), Instant.now());
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        task.setTenantId(TENANT);
+        when(taskRepository.findById(TENANT, 1L)).thenReturn(Optional.of(task));
         when(taskRepository.save(any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
 
-        Task result = taskService.softDelete(1L);
+        Task result = taskService.softDelete(TENANT, 1L, ACTOR);
 
         assertThat(result.isDeleted()).isTrue();
         verify(taskRepository).save(task);
@@ -140,20 +290,21 @@ class TaskServiceTest {
         List<Task> tasks = List.of(
                 new Task(1L, "a", null, Priority.HIGH, Status.PENDING, false, Instant.now(), Instant.now())
         );
-        when(taskRepository.findAllActive()).thenReturn(tasks);
-        assertThat(taskService.listActive()).isEqualTo(tasks);
+        when(taskRepository.findAllActive(TENANT)).thenReturn(tasks);
+        assertThat(taskService.listActive(TENANT)).isEqualTo(tasks);
     }
 
     @Test
     void updateStatus_pendingToInProgress_allowed() {
         Task task = new Task(1L, "t", null, Priority.MEDIUM, Status.PENDING, false, Instant.now(), Instant.now());
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        task.setTenantId(TENANT);
+        when(taskRepository.findById(TENANT, 1L)).thenReturn(Optional.of(task));
         when(taskRepository.save(any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
 
         StatusUpdateRequest request = new StatusUpdateRequest();
         request.setStatus(Status.IN_PROGRESS);
 
-        Task result = taskService.updateStatus(1L, request);
+        Task result = taskService.updateStatus(TENANT, 1L, request, ACTOR);
 
         assertThat(result.getStatus()).isEqualTo(Status.IN_PROGRESS);
     }
@@ -161,51 +312,55 @@ class TaskServiceTest {
     @Test
     void updateStatus_pendingToCancelled_allowed() {
         Task task = new Task(1L, "t", null, Priority.MEDIUM, Status.PENDING, false, Instant.now(), Instant.now());
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        task.setTenantId(TENANT);
+        when(taskRepository.findById(TENANT, 1L)).thenReturn(Optional.of(task));
         when(taskRepository.save(any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
 
         StatusUpdateRequest request = new StatusUpdateRequest();
         request.setStatus(Status.CANCELLED);
 
-        Task result = taskService.updateStatus(1L, request);
+        Task result = taskService.updateStatus(TENANT, 1L, request, ACTOR);
         assertThat(result.getStatus()).isEqualTo(Status.CANCELLED);
     }
 
     @Test
     void updateStatus_inProgressToCompleted_allowed() {
         Task task = new Task(1L, "t", null, Priority.MEDIUM, Status.IN_PROGRESS, false, Instant.now(), Instant.now());
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        task.setTenantId(TENANT);
+        when(taskRepository.findById(TENANT, 1L)).thenReturn(Optional.of(task));
         when(taskRepository.save(any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
 
         StatusUpdateRequest request = new StatusUpdateRequest();
         request.setStatus(Status.COMPLETED);
 
-        Task result = taskService.updateStatus(1L, request);
+        Task result = taskService.updateStatus(TENANT, 1L, request, ACTOR);
         assertThat(result.getStatus()).isEqualTo(Status.COMPLETED);
     }
 
     @Test
     void updateStatus_inProgressToCancelled_allowed() {
         Task task = new Task(1L, "t", null, Priority.MEDIUM, Status.IN_PROGRESS, false, Instant.now(), Instant.now());
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        task.setTenantId(TENANT);
+        when(taskRepository.findById(TENANT, 1L)).thenReturn(Optional.of(task));
         when(taskRepository.save(any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
 
         StatusUpdateRequest request = new StatusUpdateRequest();
         request.setStatus(Status.CANCELLED);
 
-        Task result = taskService.updateStatus(1L, request);
+        Task result = taskService.updateStatus(TENANT, 1L, request, ACTOR);
         assertThat(result.getStatus()).isEqualTo(Status.CANCELLED);
     }
 
     @Test
     void updateStatus_pendingToCompleted_rejected() {
         Task task = new Task(1L, "t", null, Priority.MEDIUM, Status.PENDING, false, Instant.now(), Instant.now());
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        task.setTenantId(TENANT);
+        when(taskRepository.findById(TENANT, 1L)).thenReturn(Optional.of(task));
 
         StatusUpdateRequest request = new StatusUpdateRequest();
         request.setStatus(Status.COMPLETED);
 
-        assertThatThrownBy(() -> taskService.updateStatus(1L, request))
+        assertThatThrownBy(() -> taskService.updateStatus(TENANT, 1L, request, ACTOR))
                 .isInstanceOf(BadRequestException.class)
                 .hasMessageContaining("Cannot transition from PENDING to COMPLETED");
     }
@@ -213,12 +368,13 @@ class TaskServiceTest {
     @Test
     void updateStatus_completedToAny_rejected() {
         Task task = new Task(1L, "t", null, Priority.MEDIUM, Status.COMPLETED, false, Instant.now(), Instant.now());
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        task.setTenantId(TENANT);
+        when(taskRepository.findById(TENANT, 1L)).thenReturn(Optional.of(task));
 
         StatusUpdateRequest request = new StatusUpdateRequest();
         request.setStatus(Status.PENDING);
 
-        assertThatThrownBy(() -> taskService.updateStatus(1L, request))
+        assertThatThrownBy(() -> taskService.updateStatus(TENANT, 1L, request, ACTOR))
                 .isInstanceOf(BadRequestException.class)
                 .hasMessageContaining("Cannot transition from COMPLETED");
     }
@@ -226,13 +382,663 @@ class TaskServiceTest {
     @Test
     void updateStatus_cancelledToAny_rejected() {
         Task task = new Task(1L, "t", null, Priority.MEDIUM, Status.CANCELLED, false, Instant.now(), Instant.now());
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        task.setTenantId(TENANT);
+        when(taskRepository.findById(TENANT, 1L)).thenReturn(Optional.of(task));
 
         StatusUpdateRequest request = new StatusUpdateRequest();
         request.setStatus(Status.IN_PROGRESS);
 
-        assertThatThrownBy(() -> taskService.updateStatus(1L, request))
+        assertThatThrownBy(() -> taskService.updateStatus(TENANT, 1L, request, ACTOR))
                 .isInstanceOf(BadRequestException.class)
                 .hasMessageContaining("Cannot transition from CANCELLED");
     }
+
+    @Test
+    void create_withMissingDependency_rejected() {
+        when(taskRepository.findById(TENANT, 42L)).thenReturn(Optional.empty());
+
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setTitle("t");
+        request.setPriority(Priority.LOW);
+        request.setDependsOn(List.of(42L));
+
+        assertThatThrownBy(() -> taskService.create(TENANT, request))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("Dependency task not found: 42");
+    }
+
+    @Test
+    void create_withCancelledDependency_rejected() {
+        Task cancelled = new Task(42L, "c", null, Priority.LOW, Status.CANCELLED, false, Instant.now(), Instant.now());
+        cancelled.setTenantId(TENANT);
+        when(taskRepository.findById(TENANT, 42L)).thenReturn(Optional.of(cancelled));
+
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setTitle("t");
+        request.setPriority(Priority.LOW);
+        request.setDependsOn(List.of(42L));
+
+        assertThatThrownBy(() -> taskService.create(TENANT, request))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("is cancelled");
+    }
+
+    @Test
+    void create_withRecurringTemplateDependency_rejected() {
+        Task template = new Task(42L, "nightly", null, Priority.LOW, Status.PENDING, false, Instant.now(), Instant.now());
+        template.setTenantId(TENANT);
+        template.setRecurrence(new Recurrence("0 0 2 * * *", null));
+        when(taskRepository.findById(TENANT, 42L)).thenReturn(Optional.of(template));
+
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setTitle("t");
+        request.setPriority(Priority.LOW);
+        request.setDependsOn(List.of(42L));
+
+        assertThatThrownBy(() -> taskService.create(TENANT, request))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("recurring template");
+    }
+
+    @Test
+    void updateStatus_cancellingDependencyKeepsDependentBlocked() {
+        dependencyGraph.addTask(TENANT, 1L, List.of());
+        dependencyGraph.addTask(TENANT, 2L, List.of(1L));
+        Task dependency = new Task(1L, "d", null, Priority.MEDIUM, Status.PENDING, false, Instant.now(), Instant.now());
+        dependency.setTenantId(TENANT);
+        Task dependent = new Task(2L, "t", null, Priority.MEDIUM, Status.PENDING, false, Instant.now(), Instant.now());
+        dependent.setTenantId(TENANT);
+        when(taskRepository.findById(TENANT, 1L)).thenReturn(Optional.of(dependency));
+        when(taskRepository.findById(TENANT, 2L)).thenReturn(Optional.of(dependent));
+        when(taskRepository.save(any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        StatusUpdateRequest cancel = new StatusUpdateRequest();
+        cancel.setStatus(Status.CANCELLED);
+        taskService.updateStatus(TENANT, 1L, cancel, ACTOR);
+
+        StatusUpdateRequest start = new StatusUpdateRequest();
+        start.setStatus(Status.IN_PROGRESS);
+        assertThatThrownBy(() -> taskService.updateStatus(TENANT, 2L, start, ACTOR))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("blocked by 1");
+    }
+
+    @Test
+    void updateStatus_toInProgressWithUnfinishedDependency_rejected() {
+        dependencyGraph.addTask(TENANT, 1L, List.of());
+        dependencyGraph.addTask(TENANT, 2L, List.of(1L));
+        Task task = new Task(2L, "t", null, Priority.MEDIUM, Status.PENDING, false, Instant.now(), Instant.now());
+        task.setTenantId(TENANT);
+        when(taskRepository.findById(TENANT, 2L)).thenReturn(Optional.of(task));
+
+        StatusUpdateRequest request = new StatusUpdateRequest();
+        request.setStatus(Status.IN_PROGRESS);
+
+        assertThatThrownBy(() -> taskService.updateStatus(TENANT, 2L, request, ACTOR))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("blocked by 1");
+    }
+
+    @Test
+    void updateStatus_completingDependencyUnblocksDependent() {
+        dependencyGraph.addTask(TENANT, 1L, List.of());
+        dependencyGraph.addTask(TENANT, 2L, List.of(1L));
+        Task dependency = new Task(1L, "d", null, Priority.MEDIUM, Status.IN_PROGRESS, false, Instant.now(), Instant.now());
+        dependency.setTenantId(TENANT);
+        Task dependent = new Task(2L, "t", null, Priority.MEDIUM, Status.PENDING, false, Instant.now(), Instant.now());
+        dependent.setTenantId(TENANT);
+        when(taskRepository.findById(TENANT, 1L)).thenReturn(Optional.of(dependency));
+        when(taskRepository.findById(TENANT, 2L)).thenReturn(Optional.of(dependent));
+        when(taskRepository.save(any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        StatusUpdateRequest complete = new StatusUpdateRequest();
+        complete.setStatus(Status.COMPLETED);
+        taskService.updateStatus(TENANT, 1L, complete, ACTOR);
+
+        StatusUpdateRequest start = new StatusUpdateRequest();
+        start.setStatus(Status.IN_PROGRESS);
+        assertThat(taskService.updateStatus(TENANT, 2L, start, ACTOR).getStatus()).isEqualTo(Status.IN_PROGRESS);
+    }
+
+    @Test
+    void create_withRecurrence_registersTemplate() {
+        Instant firstFire = Instant.parse("2025-01-15T10:35:00Z");
+        when(taskRepository.save(any(Task.class))).thenAnswer(inv -> {
+            Task t = inv.getArgument(0);
+            t.setId(1L);
+            return t;
+        });
+        when(recurrenceEngine.register(eq(1L), any(), any())).thenReturn(firstFire);
+
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setTitle("Nightly report");
+        request.setPriority(Priority.LOW);
+        request.setRecurrence(new Recurrence(null, 300_000L));
+
+        Task result = taskService.create(TENANT, request);
+
+        assertThat(result.getRecurrence().getFixedRateMs()).isEqualTo(300_000L);
+        assertThat(result.getScheduledAt()).isEqualTo(firstFire);
+    }
+
+    @Test
+    void create_withInvalidCron_rejected() {
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setTitle("Nightly report");
+        request.setPriority(Priority.LOW);
+        request.setRecurrence(new Recurrence("not a cron", null));
+
+        assertThatThrownBy(() -> taskService.create(TENANT, request))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("cron");
+    }
+
+    @Test
+    void updateStatus_onRecurringTemplate_rejected() {
+        Task template = new Task(1L, "t", null, Priority.MEDIUM, Status.PENDING, false, Instant.now(), Instant.now());
+        template.setTenantId(TENANT);
+        template.setRecurrence(new Recurrence("0 0 2 * * *", null));
+        when(taskRepository.findById(TENANT, 1L)).thenReturn(Optional.of(template));
+
+        StatusUpdateRequest request = new StatusUpdateRequest();
+        request.setStatus(Status.IN_PROGRESS);
+
+        assertThatThrownBy(() -> taskService.updateStatus(TENANT, 1L, request, ACTOR))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("Recurring task 1");
+    }
+
+    @Test
+    void create_withoutRetryPolicy_usesDefault() {
+        when(taskRepository.save(any(Task.class))).thenAnswer(inv -> {
+            Task t = inv.getArgument(0);
+            t.setId(1L);
+            return t;
+        });
+
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setTitle("t");
+        request.setPriority(Priority.LOW);
+
+        assertThat(taskService.create(TENANT, request).getRetryPolicy().getMaxAttempts()).isEqualTo(3);
+    }
+
+    @Test
+    void updateStatus_inProgressToFailed_schedulesRetry() {
+        Task task = new Task(1L, "t", null, Priority.MEDIUM, Status.IN_PROGRESS, false, Instant.now(), Instant.now());
+        task.setTenantId(TENANT);
+        when(taskRepository.findById(TENANT, 1L)).thenReturn(Optional.of(task));
+        when(taskRepository.save(any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        StatusUpdateRequest request = new StatusUpdateRequest();
+        request.setStatus(Status.FAILED);
+
+        Task result = taskService.updateStatus(TENANT, 1L, request, ACTOR);
+
+        assertThat(result.getStatus()).isEqualTo(Status.FAILED);
+        assertThat(result.getAttempts()).isEqualTo(1);
+        assertThat(result.getNextRetryAt()).isNotNull();
+        assertThat(result.isDeadLettered()).isFalse();
+        verify(taskTimer).schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void updateStatus_failedOnLastAttempt_deadLetters() {
+        Task task = new Task(1L, "t", null, Priority.MEDIUM, Status.IN_PROGRESS, false, Instant.now(), Instant.now());
+        task.setTenantId(TENANT);
+        task.setAttempts(2);
+        when(taskRepository.findById(TENANT, 1L)).thenReturn(Optional.of(task));
+        when(taskRepository.save(any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        StatusUpdateRequest request = new StatusUpdateRequest();
+        request.setStatus(Status.FAILED);
+
+        Task result = taskService.updateStatus(TENANT, 1L, request, ACTOR);
+
+        assertThat(result.isDeadLettered()).isTrue();
+        assertThat(taskService.listDeadLettered(TENANT)).containsExactly(task);
+        assertThat(taskService.retryStats(TENANT).getDeadLetterCount()).isEqualTo(1);
+        assertThat(taskService.retryStats("team-b").getDeadLetterCount()).isZero();
+        verify(taskTimer, never()).schedule(any(Runnable.class), anyLong(), any());
+    }
+
+    @Test
+    void updateStatus_deadLetteredToPending_resetsAttempts() {
+        Task task = new Task(1L, "t", null, Priority.MEDIUM, Status.IN_PROGRESS, false, Instant.now(), Instant.now());
+        task.setTenantId(TENANT);
+        task.setAttempts(2);
+        when(taskRepository.findById(TENANT, 1L)).thenReturn(Optional.of(task));
+        when(taskRepository.save(any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        StatusUpdateRequest failed = new StatusUpdateRequest();
+        failed.setStatus(Status.FAILED);
+        taskService.updateStatus(TENANT, 1L, failed, ACTOR);
+
+        StatusUpdateRequest requeue = new StatusUpdateRequest();
+        requeue.setStatus(Status.PENDING);
+        Task result = taskService.updateStatus(TENANT, 1L, requeue, ACTOR);
+
+        assertThat(result.getStatus()).isEqualTo(Status.PENDING);
+        assertThat(result.isDeadLettered()).isFalse();
+        assertThat(result.getAttempts()).isZero();
+        assertThat(taskService.listDeadLettered(TENANT)).isEmpty();
+    }
+
+    @Test
+    void updateStatus_pendingToFailed_rejected() {
+        Task task = new Task(1L, "t", null, Priority.MEDIUM, Status.PENDING, false, Instant.now(), Instant.now());
+        task.setTenantId(TENANT);
+        when(taskRepository.findById(TENANT, 1L)).thenReturn(Optional.of(task));
+
+        StatusUpdateRequest request = new StatusUpdateRequest();
+        request.setStatus(Status.FAILED);
+
+        assertThatThrownBy(() -> taskService.updateStatus(TENANT, 1L, request, ACTOR))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("Cannot transition from PENDING to FAILED");
+    }
+
+    @Test
+    void claim_returnsHighestPriorityFirstAndLeasesIt() {
+        Task low = new Task(1L, "low", null, Priority.LOW, Status.PENDING, false, Instant.now(), Instant.now());
+        low.setTenantId(TENANT);
+        Task high = new Task(2L, "high", null, Priority.HIGH, Status.PENDING, false, Instant.now(), Instant.now());
+        high.setTenantId(TENANT);
+        when(taskRepository.findById(TENANT, 2L)).thenReturn(Optional.of(high));
+        when(taskRepository.save(any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
+        workQueue.offer(low);
+        workQueue.offer(high);
+
+        List<Task> claimed = taskService.claim(TENANT, 1, 30_000, 0, "worker-1", ACTOR).join();
+
+        assertThat(claimed).containsExactly(high);
+        assertThat(high.getStatus()).isEqualTo(Status.IN_PROGRESS);
+        assertThat(high.getLeaseOwner()).isEqualTo("worker-1");
+        assertThat(high.getLeaseExpiresAt()).isAfter(Instant.now());
+        assertThat(leaseManager.activeLeases()).isEqualTo(1);
+    }
+
+    @Test
+    void claim_skipsStaleAndBlockedEntries() {
+        Task started = new Task(1L, "started", null, Priority.HIGH, Status.IN_PROGRESS, false, Instant.now(), Instant.now());
+        started.setTenantId(TENANT);
+        Task blocked = new Task(3L, "blocked", null, Priority.HIGH, Status.PENDING, false, Instant.now(), Instant.now());
+        blocked.setTenantId(TENANT);
+        dependencyGraph.addTask(TENANT, 1L, List.of());
+        dependencyGraph.addTask(TENANT, 3L, List.of(1L));
+        when(taskRepository.findById(TENANT, 1L)).thenReturn(Optional.of(started));
+        when(taskRepository.findById(TENANT, 3L)).thenReturn(Optional.of(blocked));
+        workQueue.offer(started);
+        workQueue.offer(blocked);
+
+        assertThat(taskService.claim(TENANT, 10, 30_000, 0, "worker-1", ACTOR).join()).isEmpty();
+        assertThat(workQueue.size()).isZero();
+    }
+
+    @Test
+    void claim_occurrenceBeforeItsScheduledTime_isHeldBackUntilThen() throws Exception {
+        Task occurrence = new Task(1L, "t", null, Priority.MEDIUM, Status.PENDING, false, Instant.now(), Instant.now());
+        occurrence.setTenantId(TENANT);
+        occurrence.setRecurrenceOf(9L);
+        occurrence.setScheduledAt(Instant.now().plusMillis(300));
+        when(taskRepository.findById(TENANT, 1L)).thenReturn(Optional.of(occurrence));
+        when(taskRepository.save(any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
+        workQueue.offer(occurrence);
+
+        assertThat(taskService.claim(TENANT, 1, 30_000, 0, "worker-1", ACTOR).join()).isEmpty();
+        assertThat(occurrence.getStatus()).isEqualTo(Status.PENDING);
+
+        List<Task> claimed = taskService.claim(TENANT, 1, 30_000, 5_000, "worker-1", ACTOR).get(5, TimeUnit.SECONDS);
+        assertThat(claimed).containsExactly(occurrence);
+        assertThat(occurrence.getLeaseExpiresAt()).isAfter(occurrence.getScheduledAt());
+    }
+
+    @Test
+    void claim_longPollsUntilWorkArrives() throws Exception {
+        Task task = new Task(1L, "t", null, Priority.MEDIUM, Status.PENDING, false, Instant.now(), Instant.now());
+        task.setTenantId(TENANT);
+        when(taskRepository.findById(TENANT, 1L)).thenReturn(Optional.of(task));
+        when(taskRepository.save(any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        CompletableFuture<List<Task>> claim = taskService.claim(TENANT, 1, 30_000, 5_000, "worker-1", ACTOR);
+        assertThat(claim).isNotDone();
+        workQueue.offer(task);
+
+        assertThat(claim.get(5, TimeUnit.SECONDS)).containsExactly(task);
+    }
+
+    @Test
+    void claim_longPollTimesOutEmpty() throws Exception {
+        CompletableFuture<List<Task>> claim = taskService.claim(TENANT, 1, 30_000, 50, "worker-1", ACTOR);
+
+        assertThat(claim.get(5, TimeUnit.SECONDS)).isEmpty();
+    }
+
+    @Test
+    void claim_cancelledLongPoll_leavesOfferedTaskQueued() throws Exception {
+        Task task = new Task(1L, "t", null, Priority.MEDIUM, Status.PENDING, false, Instant.now(), Instant.now());
+        task.setTenantId(TENANT);
+        CompletableFuture<List<Task>> claim = taskService.claim(TENANT, 1, 30_000, 5_000, "worker-1", ACTOR);
+        claim.cancel(false);
+
+        workQueue.offer(task);
+        // Wait for the woken waiter to run on the claim executor.
+        claimExecutor.submit(() -> { }).get(5, TimeUnit.SECONDS);
+
+        assertThat(task.getStatus()).isEqualTo(Status.PENDING);
+        assertThat(workQueue.size()).isEqualTo(1);
+    }
+
+    @Test
+    void claim_invalidMax_rejected() {
+        assertThatThrownBy(() -> taskService.claim(TENANT, 0, 30_000, 0, null, ACTOR))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("max");
+    }
+
+    @Test
+    void heartbeat_extendsLease() {
+        Task task = new Task(1L, "t", null, Priority.MEDIUM, Status.IN_PROGRESS, false, Instant.now(), Instant.now());
+        task.setTenantId(TENANT);
+        task.setLeaseOwner("worker-1");
+        task.setLeaseExpiresAt(Instant.now().plusSeconds(1));
+        when(taskRepository.findById(TENANT, 1L)).thenReturn(Optional.of(task));
+        when(taskRepository.save(any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        Task result = taskService.heartbeat(TENANT, 1L, 60_000, "worker-1");
+
+        assertThat(result.getLeaseExpiresAt()).isAfter(Instant.now().plusSeconds(30));
+    }
+
+    @Test
+    void heartbeat_withoutLeaseOrByOtherWorker_conflicts() {
+        Task unleased = new Task(1L, "t", null, Priority.MEDIUM, Status.PENDING, false, Instant.now(), Instant.now());
+        unleased.setTenantId(TENANT);
+        Task leased = new Task(2L, "t", null, Priority.MEDIUM, Status.IN_PROGRESS, false, Instant.now(), Instant.now());
+        leased.setTenantId(TENANT);
+        leased.setLeaseOwner("worker-1");
+        leased.setLeaseExpiresAt(Instant.now().plusSeconds(30));
+        when(taskRepository.findById(TENANT, 1L)).thenReturn(Optional.of(unleased));
+        when(taskRepository.findById(TENANT, 2L)).thenReturn(Optional.of(leased));
+
+        assertThatThrownBy(() -> taskService.heartbeat(TENANT, 1L, 30_000, "worker-1"))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("no active lease");
+        assertThatThrownBy(() -> taskService.heartbeat(TENANT, 2L, 30_000, "worker-2"))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("another worker");
+        assertThatThrownBy(() -> taskService.heartbeat(TENANT, 2L, 30_000, null))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("X-Worker-Id");
+    }
+
+    @Test
+    void updateStatus_completingLeasedTask_releasesLease() {
+        Task task = new Task(1L, "t", null, Priority.MEDIUM, Status.PENDING, false, Instant.now(), Instant.now());
+        task.setTenantId(TENANT);
+        when(taskRepository.findById(TENANT, 1L)).thenReturn(Optional.of(task));
+        when(taskRepository.save(any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
+        workQueue.offer(task);
+        taskService.claim(TENANT, 1, 30_000, 0, "worker-1", ACTOR).join();
+
+        StatusUpdateRequest request = new StatusUpdateRequest();
+        request.setStatus(Status.COMPLETED);
+        Task result = taskService.updateStatus(TENANT, 1L, request, ACTOR);
+
+        assertThat(result.getLeaseExpiresAt()).isNull();
+        assertThat(leaseManager.activeLeases()).isZero();
+    }
+
+    @Test
+    void statistics_trackCreateClaimCompleteAndDelete() {
+        when(taskRepository.save(any(Task.class))).thenAnswer(inv -> {
+            Task t = inv.getArgument(0);
+            if (t.getId() == null) {
+                t.setId(t.getPriority() == Priority.HIGH ? 1L : 2L);
+            }
+            return t;
+        });
+        CreateTaskRequest high = new CreateTaskRequest();
+        high.setTitle("high");
+        high.setPriority(Priority.HIGH);
+        CreateTaskRequest low = new CreateTaskRequest();
+        low.setTitle("low");
+        low.setPriority(Priority.LOW);
+        Task first = taskService.create(TENANT, high);
+        Task second = taskService.create(TENANT, low);
+        when(taskRepository.findById(TENANT, 1L)).thenReturn(Optional.of(first));
+        when(taskRepository.findById(TENANT, 2L)).thenReturn(Optional.of(second));
+
+        taskService.claim(TENANT, 1, 30_000, 0, "worker-1", ACTOR).join();
+        StatusUpdateRequest complete = new StatusUpdateRequest();
+        complete.setStatus(Status.COMPLETED);
+        taskService.updateStatus(TENANT, 1L, complete, ACTOR);
+        taskService.softDelete(TENANT, 2L, ACTOR);
+
+        var stats = taskService.statistics(TENANT);
+        assertThat(stats.getActiveTasks()).isEqualTo(1);
+        assertThat(stats.getByStatus()).containsEntry(Status.COMPLETED, 1L)
+                .containsEntry(Status.PENDING, 0L)
+                .containsEntry(Status.IN_PROGRESS, 0L);
+        assertThat(stats.getByPriority()).containsEntry(Priority.HIGH, 1L).containsEntry(Priority.LOW, 0L);
+        assertThat(stats.getCreated().getTotal()).isEqualTo(2);
+        assertThat(stats.getCompleted().getTotal()).isEqualTo(1);
+        assertThat(stats.getDeleted()).isEqualTo(1);
+        assertThat(stats.getTimeToComplete().getCount()).isEqualTo(1);
+        assertThat(taskService.statistics("team-b").getCreated().getTotal()).isZero();
+    }
+
+    @Test
+    void softDelete_twice_countsOnce() {
+        Task task = new Task(1L, "t", null, Priority.MEDIUM, Status.PENDING, false, Instant.now(), Instant.now());
+        task.setTenantId(TENANT);
+        when(taskRepository.findById(TENANT, 1L)).thenReturn(Optional.of(task));
+        when(taskRepository.save(any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        taskService.softDelete(TENANT, 1L, ACTOR);
+
+        assertThatThrownBy(() -> taskService.softDelete(TENANT, 1L, ACTOR)).isInstanceOf(TaskNotFoundException.class);
+        assertThat(taskService.statistics(TENANT).getDeleted()).isEqualTo(1);
+    }
+
+    @Test
+    void history_recordsCreateUpdateAndStatusChanges() {
+        when(taskRepository.save(any(Task.class))).thenAnswer(inv -> {
+            Task t = inv.getArgument(0);
+            if (t.getId() == null) {
+                t.setId(1L);
+            }
+            return t;
+        });
+        CreateTaskRequest create = new CreateTaskRequest();
+        create.setTitle("Draft");
+        create.setPriority(Priority.LOW);
+        Task task = taskService.create(TENANT, create);
+        when(taskRepository.findById(TENANT, 1L)).thenReturn(Optional.of(task));
+
+        UpdateTaskRequest update = new UpdateTaskRequest();
+        update.setTitle("Final");
+        update.setPriority(Priority.LOW);
+        taskService.update(TENANT, 1L, update, ACTOR);
+        taskService.claim(TENANT, 1, 30_000, 0, "worker-1", ACTOR).join();
+        StatusUpdateRequest complete = new StatusUpdateRequest();
+        complete.setStatus(Status.COMPLETED);
+        taskService.updateStatus(TENANT, 1L, complete, ACTOR);
+
+        var history = taskService.history(TENANT, 1L);
+        assertThat(history.isTruncated()).isFalse();
+        assertThat(history.getEntries()).extracting(e -> e.getEvent()).containsExactly(
+                HistoryEvent.CREATED, HistoryEvent.UPDATED, HistoryEvent.CLAIMED, HistoryEvent.STATUS_CHANGED);
+        var rename = history.getEntries().get(1).getChanges();
+        assertThat(rename).hasSize(1);
+        assertThat(rename.get(0).getField()).isEqualTo("title");
+        assertThat(rename.get(0).getFrom()).isEqualTo("Draft");
+        assertThat(rename.get(0).getTo()).isEqualTo("Final");
+        var completion = history.getEntries().get(3).getChanges();
+        assertThat(completion).extracting(c -> c.getField()).containsExactly("status", "leaseOwner");
+        assertThat(completion.get(0).getFrom()).isEqualTo(Status.IN_PROGRESS);
+        assertThat(completion.get(1).getFrom()).isEqualTo("worker-1");
+        assertThat(history.getEntries()).extracting(e -> e.getActor())
+                .containsExactly(TaskHistoryStore.SYSTEM_ACTOR, ACTOR, ACTOR, ACTOR);
+    }
+
+    @Test
+    void history_unknownTask_throwsNotFound() {
+        when(taskRepository.findById(TENANT, 99L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> taskService.history(TENANT, 99L)).isInstanceOf(TaskNotFoundException.class);
+    }
+
+    @Test
+    void listOverdue_returnsPastDueTasksUntilCompleted() {
+        when(taskRepository.save(any(Task.class))).thenAnswer(inv -> {
+            Task t = inv.getArgument(0);
+            if (t.getId() == null) {
+                t.setId(t.getTitle().equals("late") ? 1L : 2L);
+            }
+            return t;
+        });
+        CreateTaskRequest late = new CreateTaskRequest();
+        late.setTitle("late");
+        late.setPriority(Priority.MEDIUM);
+        late.setDueAt(Instant.now().minusSeconds(60));
+        Task lateTask = taskService.create(TENANT, late);
+        CreateTaskRequest onTime = new CreateTaskRequest();
+        onTime.setTitle("on time");
+        onTime.setPriority(Priority.MEDIUM);
+        onTime.setDueAt(Instant.now().plusSeconds(3600));
+        taskService.create(TENANT, onTime);
+        when(taskRepository.findById(TENANT, 1L)).thenReturn(Optional.of(lateTask));
+
+        assertThat(taskService.listOverdue(TENANT, 10)).extracting(Task::getId).containsExactly(1L);
+
+        lateTask.setStatus(Status.IN_PROGRESS);
+        StatusUpdateRequest complete = new StatusUpdateRequest();
+        complete.setStatus(Status.COMPLETED);
+        taskService.updateStatus(TENANT, 1L, complete, ACTOR);
+
+        assertThat(taskService.listOverdue(TENANT, 10)).isEmpty();
+        assertThat(deadlineTracker.trackedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void update_clearDueAt_untracksDeadlineAndRecordsIt() {
+        Task task = new Task(1L, "t", null, Priority.MEDIUM, Status.PENDING, false, Instant.now(), Instant.now());
+        task.setTenantId(TENANT);
+        Instant dueAt = Instant.now().plusSeconds(3600);
+        task.setDueAt(dueAt);
+        deadlineTracker.track(TENANT, 1L, dueAt.toEpochMilli());
+        when(taskRepository.findById(TENANT, 1L)).thenReturn(Optional.of(task));
+        when(taskRepository.save(any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        UpdateTaskRequest request = new UpdateTaskRequest();
+        request.setTitle("t");
+        request.setClearDueAt(true);
+        taskService.update(TENANT, 1L, request, ACTOR);
+
+        assertThat(task.getDueAt()).isNull();
+        assertThat(deadlineTracker.trackedCount()).isZero();
+        var changes = taskService.history(TENANT, 1L).getEntries().get(0).getChanges();
+        assertThat(changes).extracting(FieldChange::getField).containsExactly("dueAt");
+        assertThat(changes.get(0).getTo()).isNull();
+    }
+
+    @Test
+    void update_dueAtAndClearDueAt_rejected() {
+        Task task = new Task(1L, "t", null, Priority.MEDIUM, Status.PENDING, false, Instant.now(), Instant.now());
+        task.setTenantId(TENANT);
+        when(taskRepository.findById(TENANT, 1L)).thenReturn(Optional.of(task));
+
+        UpdateTaskRequest request = new UpdateTaskRequest();
+        request.setTitle("t");
+        request.setDueAt(Instant.now().plusSeconds(60));
+        request.setClearDueAt(true);
+
+        assertThatThrownBy(() -> taskService.update(TENANT, 1L, request, ACTOR))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void create_recurringWithDueAt_rejected() {
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setTitle("nightly");
+        request.setPriority(Priority.LOW);
+        request.setRecurrence(new Recurrence("0 0 2 * * *", null));
+        request.setDueAt(Instant.now().plusSeconds(60));
+
+        assertThatThrownBy(() -> taskService.create(TENANT, request)).isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void getById_otherTenantsTask_notFound() {
+        when(taskRepository.findById("team-b", 1L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> taskService.getById("team-b", 1L)).isInstanceOf(TaskNotFoundException.class);
+    }
+
+    @Test
+    void getById_withoutTenant_usesDefaultTenant() {
+        Task task = new Task(1L, "t", null, Priority.MEDIUM, Status.PENDING, false, Instant.now(), Instant.now());
+        task.setTenantId(Tenants.DEFAULT_TENANT);
+        when(taskRepository.findById(Tenants.DEFAULT_TENANT, 1L)).thenReturn(Optional.of(task));
+
+        assertThat(taskService.getById(null, 1L)).isSameAs(task);
+    }
+
+    @Test
+    void create_overTaskQuota_rejectedUntilOneIsDeleted() {
+        long[] ids = {0};
+        when(taskRepository.save(any(Task.class))).thenAnswer(inv -> {
+            Task t = inv.getArgument(0);
+            if (t.getId() == null) {
+                t.setId(++ids[0]);
+            }
+            return t;
+        });
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setTitle("bulk");
+        request.setPriority(Priority.LOW);
+        Task first = null;
+        for (int i = 0; i < 5; i++) {
+            Task created = taskService.create(TENANT, request);
+            first = first == null ? created : first;
+        }
+
+        assertThatThrownBy(() -> taskService.create(TENANT, request)).isInstanceOf(TenantQuotaExceededException.class);
+        assertThat(taskService.create("team-b", request).getTenantId()).isEqualTo("team-b");
+
+        when(taskRepository.findById(TENANT, 1L)).thenReturn(Optional.of(first));
+        taskService.softDelete(TENANT, 1L, ACTOR);
+        assertThat(taskService.create(TENANT, request).getTenantId()).isEqualTo(TENANT);
+        assertThat(tenantQuotas.taskCount(TENANT)).isEqualTo(5);
+    }
+
+    @Test
+    void claim_onlyReturnsTheTenantsTasks() {
+        Task other = new Task(1L, "other", null, Priority.HIGH, Status.PENDING, false, Instant.now(), Instant.now());
+        other.setTenantId("team-b");
+        Task own = new Task(2L, "own", null, Priority.LOW, Status.PENDING, false, Instant.now(), Instant.now());
+        own.setTenantId(TENANT);
+        when(taskRepository.findById(TENANT, 2L)).thenReturn(Optional.of(own));
+        when(taskRepository.save(any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
+        workQueue.offer(other);
+        workQueue.offer(own);
+
+        assertThat(taskService.claim(TENANT, 10, 30_000, 0, "worker-1", ACTOR).join()).containsExactly(own);
+        assertThat(other.getStatus()).isEqualTo(Status.PENDING);
+        assertThat(workQueue.size()).isEqualTo(1);
+    }
+
+    @Test
+    void create_withDependencyInOtherTenant_rejected() {
+        when(taskRepository.findById(TENANT, 7L)).thenReturn(Optional.empty());
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setTitle("t");
+        request.setPriority(Priority.LOW);
+        request.setDependsOn(List.of(7L));
+
+        assertThatThrownBy(() -> taskService.create(TENANT, request))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("Dependency task not found: 7");
+    }
 }
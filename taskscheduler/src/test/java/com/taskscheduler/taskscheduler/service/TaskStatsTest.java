@@ -0,0 +1,141 @@
+package com.taskscheduler.taskscheduler.service;
+
+import com.taskscheduler.taskscheduler.dto.TaskStatistics;
+import com.taskscheduler.taskscheduler.model.Priority;
+import com.taskscheduler.taskscheduler.model.Recurrence;
+import com.taskscheduler.taskscheduler.model.Status;
+import com.taskscheduler.taskscheduler.model.Task;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class TaskStatsTest {
+
+    private static final String TENANT = "team-a";
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final TaskStats stats = new TaskStats(nanos::get);
+
+    @Test
+    void countsFollowStatusAndPriorityChanges() {
+        Task task = task(Priority.LOW);
+        stats.taskCreated(task);
+        stats.statusChanged(task, Status.PENDING, Status.IN_PROGRESS, Instant.now());
+        stats.priorityChanged(task, Priority.HIGH);
+
+        TaskStatistics snapshot = stats.snapshot(TENANT);
+        assertThat(snapshot.getActiveTasks()).isEqualTo(1);
+        assertThat(snapshot.getByStatus()).containsEntry(Status.IN_PROGRESS, 1L).containsEntry(Status.PENDING, 0L);
+        assertThat(snapshot.getByPriority()).containsEntry(Priority.HIGH, 1L).containsEntry(Priority.LOW, 0L);
+    }
+
+    @Test
+    void recurringTemplatesAreCountedSeparately() {
+        Task template = task(Priority.MEDIUM);
+        template.setRecurrence(new Recurrence());
+        stats.taskCreated(template);
+        stats.priorityChanged(template, Priority.HIGH);
+
+        TaskStatistics snapshot = stats.snapshot(TENANT);
+        assertThat(snapshot.getRecurringTemplates()).isEqualTo(1);
+        assertThat(snapshot.getActiveTasks()).isZero();
+        assertThat(snapshot.getByPriority()).containsEntry(Priority.HIGH, 0L);
+
+        stats.taskDeleted(template);
+        assertThat(stats.snapshot(TENANT).getRecurringTemplates()).isZero();
+    }
+
+    @Test
+    void completionRecordsTimeToComplete() {
+        Instant createdAt = Instant.parse("2026-01-01T00:00:00Z");
+        for (int seconds = 1; seconds <= 100; seconds++) {
+            Task task = task(Priority.MEDIUM);
+            task.setCreatedAt(createdAt);
+            stats.statusChanged(task, Status.IN_PROGRESS, Status.COMPLETED, createdAt.plusSeconds(seconds));
+        }
+
+        var latency = stats.snapshot(TENANT).getTimeToComplete();
+        assertThat(latency.getCount()).isEqualTo(100);
+        assertThat(latency.getMeanMs()).isEqualTo(50_500);
+        assertThat(latency.getMaxMs()).isEqualTo(100_000);
+        assertThat(latency.getP50Ms()).isBetween(50_000L, 62_500L);
+        assertThat(latency.getP99Ms()).isBetween(99_000L, 100_000L);
+    }
+
+    @Test
+    void ewmasDecayWithTheirTimeConstants() {
+        for (int i = 0; i < 50; i++) {
+            stats.taskCreated(task(Priority.LOW));
+        }
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(5));
+
+        var created = stats.snapshot(TENANT).getCreated();
+        assertThat(created.getTotal()).isEqualTo(50);
+        assertThat(created.getOneMinuteEwma()).isCloseTo(10.0, within(1e-9));
+        assertThat(created.getFifteenMinuteEwma()).isCloseTo(10.0, within(1e-9));
+
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(1));
+        created = stats.snapshot(TENANT).getCreated();
+        assertThat(created.getOneMinuteEwma()).isCloseTo(10.0 / Math.E, within(0.01));
+        assertThat(created.getFiveMinuteEwma()).isGreaterThan(created.getOneMinuteEwma());
+        assertThat(created.getFifteenMinuteEwma()).isGreaterThan(created.getFiveMinuteEwma());
+    }
+
+    @Test
+    void ewmaTickCountsOnlyMarksSinceThePreviousTick() {
+        for (int i = 0; i < 50; i++) {
+            stats.taskCreated(task(Priority.LOW));
+        }
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        stats.snapshot(TENANT);
+        for (int i = 0; i < 25; i++) {
+            stats.taskCreated(task(Priority.LOW));
+        }
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(5));
+
+        var created = stats.snapshot(TENANT).getCreated();
+        double alpha = 1 - Math.exp(-5.0 / 60);
+        assertThat(created.getTotal()).isEqualTo(75);
+        assertThat(created.getOneMinuteEwma()).isCloseTo(10.0 + alpha * (5.0 - 10.0), within(1e-9));
+    }
+
+    @Test
+    void snapshotCoversOnlyTheRequestedTenant() {
+        stats.taskCreated(task(Priority.LOW));
+        Task other = task(Priority.HIGH);
+        other.setTenantId("team-b");
+        stats.taskCreated(other);
+        stats.deadlineMissed("team-b");
+
+        assertThat(stats.snapshot(TENANT).getActiveTasks()).isEqualTo(1);
+        assertThat(stats.snapshot(TENANT).getByPriority()).containsEntry(Priority.HIGH, 0L);
+        assertThat(stats.snapshot(TENANT).getDeadlinesMissed()).isZero();
+        assertThat(stats.snapshot("team-b").getByPriority()).containsEntry(Priority.HIGH, 1L);
+        assertThat(stats.snapshot("team-b").getDeadlinesMissed()).isEqualTo(1);
+        assertThat(stats.snapshot("team-c").getActiveTasks()).isZero();
+        assertThat(stats.snapshot("team-c")).isSameAs(stats.snapshot("team-d"));
+    }
+
+    @Test
+    void histogramBucketsCoverTheirValues() {
+        for (long value : new long[]{0, 3, 4, 7, 8, 9, 1_000, 123_456_789, Long.MAX_VALUE}) {
+            int index = LatencyHistogram.bucketIndex(value);
+            assertThat(LatencyHistogram.bucketUpperBound(index)).isGreaterThanOrEqualTo(value);
+            if (index > 0) {
+                assertThat(LatencyHistogram.bucketUpperBound(index - 1)).isLessThan(value);
+            }
+        }
+    }
+
+    private static Task task(Priority priority) {
+        Instant now = Instant.now();
+        Task task = new Task(null, "t", null, priority, Status.PENDING, false, now, now);
+        task.setTenantId(TENANT);
+        return task;
+    }
+}
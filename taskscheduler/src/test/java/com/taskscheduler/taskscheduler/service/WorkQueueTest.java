@@ -0,0 +1,79 @@
+package com.taskscheduler.taskscheduler.service;
+
+import com.taskscheduler.taskscheduler.model.Priority;
+import com.taskscheduler.taskscheduler.model.Status;
+import com.taskscheduler.taskscheduler.model.Task;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WorkQueueTest {
+
+    private static final String TENANT = "team-a";
+
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+    private final WorkQueue workQueue = new WorkQueue(timer);
+
+    @AfterEach
+    void tearDown() {
+        timer.shutdownNow();
+    }
+
+    @Test
+    void offer_wakesOneWaiterPerTask() {
+        CompletableFuture<Boolean> first = workQueue.awaitWork(TENANT, TimeUnit.SECONDS.toNanos(30));
+        CompletableFuture<Boolean> second = workQueue.awaitWork(TENANT, TimeUnit.SECONDS.toNanos(30));
+
+        workQueue.offer(task(1L));
+
+        assertThat(first).isCompletedWithValue(true);
+        assertThat(second).isNotDone();
+
+        workQueue.offer(task(2L));
+
+        assertThat(second).isCompletedWithValue(true);
+    }
+
+    @Test
+    void offer_skipsWaitersThatAreAlreadyDone() {
+        CompletableFuture<Boolean> cancelled = workQueue.awaitWork(TENANT, TimeUnit.SECONDS.toNanos(30));
+        CompletableFuture<Boolean> waiting = workQueue.awaitWork(TENANT, TimeUnit.SECONDS.toNanos(30));
+        cancelled.cancel(false);
+
+        workQueue.offer(task(1L));
+
+        assertThat(waiting).isCompletedWithValue(true);
+    }
+
+    @Test
+    void signal_passesAnOfferOnToTheNextWaiter() {
+        CompletableFuture<Boolean> first = workQueue.awaitWork(TENANT, TimeUnit.SECONDS.toNanos(30));
+        CompletableFuture<Boolean> second = workQueue.awaitWork(TENANT, TimeUnit.SECONDS.toNanos(30));
+        workQueue.offer(task(1L));
+
+        workQueue.signal(TENANT);
+
+        assertThat(first).isCompletedWithValue(true);
+        assertThat(second).isCompletedWithValue(true);
+    }
+
+    @Test
+    void awaitWork_completesFalseAfterTimeout() throws Exception {
+        CompletableFuture<Boolean> waiter = workQueue.awaitWork(TENANT, TimeUnit.MILLISECONDS.toNanos(20));
+
+        assertThat(waiter.get(5, TimeUnit.SECONDS)).isFalse();
+    }
+
+    private static Task task(Long id) {
+        Task task = new Task(id, "t", null, Priority.MEDIUM, Status.PENDING, false, Instant.now(), Instant.now());
+        task.setTenantId(TENANT);
+        return task;
+    }
+}